@@ -0,0 +1,119 @@
+package com.erwolff.pagination;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A mapping function which memoizes the results of an expensive mapping function, keyed by a caller-supplied stable identity
+ * of each element (e.g. id plus timestamp).
+ *
+ * This is intended for the archived side of {@link Pager} and {@link MergedPager} only: archived elements never change once
+ * written, so the same element always maps to the same result. Live elements may still change and must not be memoized -
+ * supply the live mapping function directly.
+ *
+ * The same result instance is returned to every page and every caller which maps an element with the same identity. Results
+ * should therefore be treated as immutable: if a caller may modify them (e.g. via LiveDrive's setters), it must copy them first,
+ * or the modification will be visible on every subsequent page.
+ *
+ * The cache is bounded to a maximum number of entries, beyond which the least recently used are evicted. Each identity is
+ * mapped once even when concurrent pages miss on it together: later callers wait on that identity's mapping rather than
+ * repeating it, while other identities are mapped in parallel. Null results (e.g. Translator.translate(ad).orElse(null)) are memoized too.
+ *
+ * @param <T> - the type of the elements to map
+ * @param <KEY> - the type of the stable identity of an element
+ * @param <RESULT> - the type the elements are mapped to
+ */
+public final class MemoizingMapper<T, KEY, RESULT> implements Function<T, RESULT> {
+    private static final Logger log = LoggerFactory.getLogger(MemoizingMapper.class.getSimpleName());
+
+    private final Function<? super T, ? extends KEY> keyFunction;
+    private final Function<? super T, ? extends RESULT> mappingFunction;
+    // values are wrapped as the cache doesn't support null values
+    private final Cache<KEY, Optional<RESULT>> cache;
+
+    private MemoizingMapper(Function<? super T, ? extends KEY> keyFunction, Function<? super T, ? extends RESULT> mappingFunction, long maximumSize) {
+        this.keyFunction = keyFunction;
+        this.mappingFunction = mappingFunction;
+        this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * Memoizes a mapping function which may return null
+     *
+     * @param keyFunction - the function which supplies the stable identity of an element
+     * @param mappingFunction - the expensive function which maps an element to the RESULT object
+     * @param maximumSize - the maximum number of memoized results
+     * @return - the memoizing mapping function
+     */
+    public static <T, KEY, RESULT> MemoizingMapper<T, KEY, RESULT> of(Function<? super T, ? extends KEY> keyFunction, Function<? super T, ? extends RESULT> mappingFunction, long maximumSize) {
+        validate(keyFunction, mappingFunction, maximumSize);
+        return new MemoizingMapper<>(keyFunction, mappingFunction, maximumSize);
+    }
+
+    /**
+     * Memoizes a mapping function which returns an Optional (e.g. Translator::translate), unwrapping empty results to null
+     *
+     * @param keyFunction - the function which supplies the stable identity of an element
+     * @param mappingFunction - the expensive function which maps an element to an Optional of the RESULT object
+     * @param maximumSize - the maximum number of memoized results
+     * @return - the memoizing mapping function
+     */
+    public static <T, KEY, RESULT> MemoizingMapper<T, KEY, RESULT> ofOptional(Function<? super T, ? extends KEY> keyFunction, Function<? super T, ? extends Optional<? extends RESULT>> mappingFunction, long maximumSize) {
+        validate(keyFunction, mappingFunction, maximumSize);
+        return new MemoizingMapper<>(keyFunction, t -> mappingFunction.apply(t).orElse(null), maximumSize);
+    }
+
+    /**
+     * Maps the supplied element, reusing the memoized result for its identity if there is one. Null elements and elements
+     * with a null identity are mapped without memoization.
+     *
+     * @param element - the element to map
+     * @return - the RESULT object, which may be null if the mapping function returned null
+     * @throws RuntimeException - any exception thrown by the mapping function, in which case nothing is memoized
+     */
+    @Override
+    public RESULT apply(T element) {
+        KEY key = element == null ? null : keyFunction.apply(element);
+        if (key == null) {
+            return mappingFunction.apply(element);
+        }
+
+        try {
+            return cache.get(key, () -> Optional.ofNullable(mappingFunction.apply(element))).orElse(null);
+        }
+        catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            // the mapping function can only throw unchecked exceptions, so rethrow the original
+            Throwables.propagateIfPossible(e.getCause());
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * @return - the current number of memoized results
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    private static void validate(Function<?, ?> keyFunction, Function<?, ?> mappingFunction, long maximumSize) {
+        if (keyFunction == null || mappingFunction == null) {
+            String message = "Key function and mapping function must not be null";
+            log.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        if (maximumSize <= 0) {
+            String message = "Maximum size must be greater than 0";
+            log.error(message);
+            throw new IllegalArgumentException(message);
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package com.erwolff.pagination;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.*;
+
+/**
+ * A reusable pager over a live and an archived collection, with its queries, mapping functions and default sort bound once
+ * at construction. This is the reusable equivalent of {@link Pager#pageAndMerge}: the functions don't need to be supplied with
+ * every request, and which collection is initial for each sort direction is fixed up front.
+ *
+ * Each sort direction is paged by its own final class with its own merge loop over the bound mapping functions, rather than
+ * the generic merge shared by every {@link Pager} call. The mapping call sites in each loop therefore only see the mapping
+ * functions bound to MergedPagers, and stay monomorphic while the process binds a single pair of them (e.g. one pager per
+ * application). Each request still reads the sort of its page request, which allocates an iterator, and the mapped content
+ * list is sized exactly and backs the returned page without copying.
+ *
+ * Instances are immutable and thread-safe provided the supplied functions are.
+ *
+ * @param <LIVE> - the type of the live collection results
+ * @param <ARCHIVED> - the type of the archived collection results
+ * @param <RESULT> - the type both collections' results are mapped to
+ */
+public final class MergedPager<LIVE, ARCHIVED, RESULT> {
+    private static final Logger log = LoggerFactory.getLogger(MergedPager.class.getSimpleName());
+
+    private final Sort defaultSort;
+    private final LongSupplier clock;
+    private final boolean snapshots;
+    private final Descending<LIVE, ARCHIVED, RESULT> descending;
+    private final Ascending<LIVE, ARCHIVED, RESULT> ascending;
+
+    private MergedPager(Builder<LIVE, ARCHIVED, RESULT> builder) {
+        this.defaultSort = new Sort(builder.defaultSort);
+        this.clock = builder.clock;
+        this.snapshots = builder.liveSnapshotQuery != null;
+        this.descending = new Descending<>(builder);
+        this.ascending = new Ascending<>(builder);
+    }
+
+    /**
+     * Creates a builder for a MergedPager
+     * @return - a new builder
+     */
+    public static <LIVE, ARCHIVED, RESULT> Builder<LIVE, ARCHIVED, RESULT> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Performs pagination over the two collections, mapping the results to the RESULT object
+     *
+     * @param pageable - the page request; if unsorted, the default sort is applied
+     * @return - an org.springframework.data.Page of type RESULT
+     */
+    public Page<RESULT> page(Pageable pageable) {
+        PageBoundaries.validate(pageable);
+        pageable = PageBoundaries.sorted(pageable, defaultSort);
+
+        if (Sort.Direction.ASC == PageBoundaries.direction(pageable)) {
+            return ascending.page(pageable);
+        }
+        return descending.page(pageable);
+    }
+
+    /**
+     * Performs pagination over the two collections, mapping the results to the RESULT object and computing the page as of the
+     * supplied snapshot so that sequential page requests stay consistent while drives are inserted into the live collection and
+     * migrate from the live collection to the archived collection
+     *
+     * @param pageable - the page request; if unsorted, the default sort is applied
+     * @param snapshot - the snapshot returned with a previous page, or null to take a new snapshot
+     * @return - a page of type RESULT carrying the snapshot to supply with subsequent page requests
+     * @throws IllegalStateException if this pager was built without snapshot queries
+     */
+    public SnapshotPage<RESULT> page(Pageable pageable, PageSnapshot snapshot) {
+        if (!snapshots) {
+            String message = "Snapshot queries must be supplied to page with snapshots";
+            log.error(message);
+            throw new IllegalStateException(message);
+        }
+        PageBoundaries.validate(pageable);
+        pageable = PageBoundaries.sorted(pageable, defaultSort);
+
+        if (Sort.Direction.ASC == PageBoundaries.direction(pageable)) {
+            return snapshot == null ? ascending.pageAndSnapshot(pageable, clock.getAsLong()) : ascending.page(pageable, snapshot);
+        }
+        return snapshot == null ? descending.pageAndSnapshot(pageable, clock.getAsLong()) : descending.page(pageable, snapshot);
+    }
+
+    /**
+     * Pages over the two collections for DESC sorts: live results are initial, archived results are secondary
+     */
+    private static final class Descending<LIVE, ARCHIVED, RESULT> {
+        private final Function<Pageable, Page<LIVE>> liveQuery;
+        private final SnapshotQuery<LIVE> liveSnapshotQuery;
+        private final Function<? super LIVE, ? extends RESULT> liveMappingFunction;
+        private final Function<Pageable, Page<ARCHIVED>> archivedQuery;
+        private final SnapshotQuery<ARCHIVED> archivedSnapshotQuery;
+        private final Function<? super ARCHIVED, ? extends RESULT> archivedMappingFunction;
+
+        private Descending(Builder<LIVE, ARCHIVED, RESULT> builder) {
+            this.liveQuery = builder.liveQuery;
+            this.liveSnapshotQuery = builder.liveSnapshotQuery;
+            this.liveMappingFunction = builder.liveMappingFunction;
+            this.archivedQuery = builder.archivedQuery;
+            this.archivedSnapshotQuery = builder.archivedSnapshotQuery;
+            this.archivedMappingFunction = builder.archivedMappingFunction;
+        }
+
+        private Page<RESULT> page(Pageable pageable) {
+            // perform both queries in order to be able to calculate the total number of results between collections
+            Page<LIVE> liveResults = liveQuery.apply(pageable);
+            Page<ARCHIVED> archivedResults = archivedQuery.apply(pageable);
+
+            // only re-query the archived collection if the results we already have don't cover the remainder of the page
+            Pageable archivedPageable = PageBoundaries.secondaryPageable(liveResults, archivedResults, pageable);
+            if (archivedPageable != null) {
+                archivedResults = archivedQuery.apply(archivedPageable);
+            }
+
+            long liveTotal = liveResults.getTotalElements();
+            long archivedTotal = archivedResults.getTotalElements();
+            return new PageImpl<>(merge(liveResults, archivedResults, pageable, liveTotal, archivedTotal), pageable, liveTotal + archivedTotal);
+        }
+
+        /**
+         * Performs the first page request of a sequence, snapshotting the totals of both collections as of the supplied timestamp
+         */
+        private SnapshotPage<RESULT> pageAndSnapshot(Pageable pageable, long timestamp) {
+            // perform both queries in order to be able to calculate the total number of results between collections
+            Page<LIVE> liveResults = liveSnapshotQuery.apply(pageable, timestamp);
+            Page<ARCHIVED> archivedResults = archivedSnapshotQuery.apply(pageable, timestamp);
+            PageSnapshot snapshot = new PageSnapshot(timestamp, liveResults.getTotalElements(), archivedResults.getTotalElements());
+
+            // only re-query the archived collection if the results we already have don't cover the remainder of the page
+            Pageable archivedPageable = PageBoundaries.secondaryPageable(liveResults, archivedResults, pageable);
+            if (archivedPageable != null) {
+                archivedResults = archivedSnapshotQuery.apply(archivedPageable, timestamp);
+            }
+
+            return new SnapshotPage<>(merge(liveResults, archivedResults, pageable, snapshot.getLiveTotal(), snapshot.getArchivedTotal()), pageable, snapshot);
+        }
+
+        /**
+         * Performs a subsequent page request of a sequence. The snapshot's totals locate the page within the merged results, so
+         * only the collections the page spans are queried, once each.
+         */
+        private SnapshotPage<RESULT> page(Pageable pageable, PageSnapshot snapshot) {
+            Pageable livePageable = PageBoundaries.initialPageable(snapshot, pageable);
+            Pageable archivedPageable = PageBoundaries.secondaryPageable(snapshot, pageable);
+            Page<LIVE> liveResults = livePageable == null ? null : liveSnapshotQuery.apply(livePageable, snapshot.getTimestamp());
+            Page<ARCHIVED> archivedResults = archivedPageable == null ? null : archivedSnapshotQuery.apply(archivedPageable, snapshot.getTimestamp());
+
+            return new SnapshotPage<>(merge(liveResults, archivedResults, pageable, snapshot.getLiveTotal(), snapshot.getArchivedTotal()), pageable, snapshot);
+        }
+
+        /**
+         * Maps the live results, followed by the slice of the archived results which fills out the remainder of the page. Either
+         * results may be null if the page doesn't span their collection.
+         */
+        private List<RESULT> merge(Page<LIVE> liveResults, Page<ARCHIVED> archivedResults, Pageable pageable, long liveTotal, long archivedTotal) {
+            int liveCount = liveResults == null ? 0 : PageBoundaries.initialCount(liveResults, pageable, liveTotal);
+            int from = 0;
+            int to = 0;
+            if (archivedResults != null && liveCount < pageable.getPageSize()) {
+                from = PageBoundaries.secondaryFrom(archivedResults, pageable, liveTotal);
+                to = PageBoundaries.secondaryTo(archivedResults, pageable, liveTotal, archivedTotal, liveCount);
+            }
+
+            List<RESULT> content = new ArrayList<>(liveCount + to - from);
+            if (liveCount > 0) {
+                List<LIVE> liveContent = liveResults.getContent();
+                for (int i = 0; i < liveCount; i++) {
+                    content.add(liveMappingFunction.apply(liveContent.get(i)));
+                }
+            }
+            if (from < to) {
+                List<ARCHIVED> archivedContent = archivedResults.getContent();
+                for (int i = from; i < to; i++) {
+                    content.add(archivedMappingFunction.apply(archivedContent.get(i)));
+                }
+            }
+            return content;
+        }
+    }
+
+    /**
+     * Pages over the two collections for ASC sorts: archived results are initial, live results are secondary
+     */
+    private static final class Ascending<LIVE, ARCHIVED, RESULT> {
+        private final Function<Pageable, Page<LIVE>> liveQuery;
+        private final SnapshotQuery<LIVE> liveSnapshotQuery;
+        private final Function<? super LIVE, ? extends RESULT> liveMappingFunction;
+        private final Function<Pageable, Page<ARCHIVED>> archivedQuery;
+        private final SnapshotQuery<ARCHIVED> archivedSnapshotQuery;
+        private final Function<? super ARCHIVED, ? extends RESULT> archivedMappingFunction;
+
+        private Ascending(Builder<LIVE, ARCHIVED, RESULT> builder) {
+            this.liveQuery = builder.liveQuery;
+            this.liveSnapshotQuery = builder.liveSnapshotQuery;
+            this.liveMappingFunction = builder.liveMappingFunction;
+            this.archivedQuery = builder.archivedQuery;
+            this.archivedSnapshotQuery = builder.archivedSnapshotQuery;
+            this.archivedMappingFunction = builder.archivedMappingFunction;
+        }
+
+        private Page<RESULT> page(Pageable pageable) {
+            // perform both queries in order to be able to calculate the total number of results between collections
+            Page<ARCHIVED> archivedResults = archivedQuery.apply(pageable);
+            Page<LIVE> liveResults = liveQuery.apply(pageable);
+
+            // only re-query the live collection if the results we already have don't cover the remainder of the page
+            Pageable livePageable = PageBoundaries.secondaryPageable(archivedResults, liveResults, pageable);
+            if (livePageable != null) {
+                liveResults = liveQuery.apply(livePageable);
+            }
+
+            long archivedTotal = archivedResults.getTotalElements();
+            long liveTotal = liveResults.getTotalElements();
+            return new PageImpl<>(merge(archivedResults, liveResults, pageable, archivedTotal, liveTotal), pageable, archivedTotal + liveTotal);
+        }
+
+        /**
+         * Performs the first page request of a sequence, snapshotting the totals of both collections as of the supplied timestamp
+         */
+        private SnapshotPage<RESULT> pageAndSnapshot(Pageable pageable, long timestamp) {
+            // perform both queries in order to be able to calculate the total number of results between collections
+            Page<ARCHIVED> archivedResults = archivedSnapshotQuery.apply(pageable, timestamp);
+            Page<LIVE> liveResults = liveSnapshotQuery.apply(pageable, timestamp);
+            PageSnapshot snapshot = new PageSnapshot(timestamp, liveResults.getTotalElements(), archivedResults.getTotalElements());
+
+            // only re-query the live collection if the results we already have don't cover the remainder of the page
+            Pageable livePageable = PageBoundaries.secondaryPageable(archivedResults, liveResults, pageable);
+            if (livePageable != null) {
+                liveResults = liveSnapshotQuery.apply(livePageable, timestamp);
+            }
+
+            return new SnapshotPage<>(merge(archivedResults, liveResults, pageable, snapshot.getArchivedTotal(), snapshot.getLiveTotal()), pageable, snapshot);
+        }
+
+        /**
+         * Performs a subsequent page request of a sequence. The snapshot's totals locate the page within the merged results, so
+         * only the collections the page spans are queried, once each.
+         */
+        private SnapshotPage<RESULT> page(Pageable pageable, PageSnapshot snapshot) {
+            Pageable archivedPageable = PageBoundaries.initialPageable(snapshot, pageable);
+            Pageable livePageable = PageBoundaries.secondaryPageable(snapshot, pageable);
+            Page<ARCHIVED> archivedResults = archivedPageable == null ? null : archivedSnapshotQuery.apply(archivedPageable, snapshot.getTimestamp());
+            Page<LIVE> liveResults = livePageable == null ? null : liveSnapshotQuery.apply(livePageable, snapshot.getTimestamp());
+
+            return new SnapshotPage<>(merge(archivedResults, liveResults, pageable, snapshot.getArchivedTotal(), snapshot.getLiveTotal()), pageable, snapshot);
+        }
+
+        /**
+         * Maps the archived results, followed by the slice of the live results which fills out the remainder of the page. Either
+         * results may be null if the page doesn't span their collection.
+         */
+        private List<RESULT> merge(Page<ARCHIVED> archivedResults, Page<LIVE> liveResults, Pageable pageable, long archivedTotal, long liveTotal) {
+            int archivedCount = archivedResults == null ? 0 : PageBoundaries.initialCount(archivedResults, pageable, archivedTotal);
+            int from = 0;
+            int to = 0;
+            if (liveResults != null && archivedCount < pageable.getPageSize()) {
+                from = PageBoundaries.secondaryFrom(liveResults, pageable, archivedTotal);
+                to = PageBoundaries.secondaryTo(liveResults, pageable, archivedTotal, liveTotal, archivedCount);
+            }
+
+            List<RESULT> content = new ArrayList<>(archivedCount + to - from);
+            if (archivedCount > 0) {
+                List<ARCHIVED> archivedContent = archivedResults.getContent();
+                for (int i = 0; i < archivedCount; i++) {
+                    content.add(archivedMappingFunction.apply(archivedContent.get(i)));
+                }
+            }
+            if (from < to) {
+                List<LIVE> liveContent = liveResults.getContent();
+                for (int i = from; i < to; i++) {
+                    content.add(liveMappingFunction.apply(liveContent.get(i)));
+                }
+            }
+            return content;
+        }
+    }
+
+    /**
+     * Builds a MergedPager. The queries and mapping functions are required; the default sort is timestamp DESC unless supplied.
+     * Paging with snapshots additionally requires both snapshot queries, and new snapshots are taken at the current time in
+     * milliseconds unless a clock is supplied.
+     */
+    public static final class Builder<LIVE, ARCHIVED, RESULT> {
+        private Function<Pageable, Page<LIVE>> liveQuery;
+        private SnapshotQuery<LIVE> liveSnapshotQuery;
+        private Function<? super LIVE, ? extends RESULT> liveMappingFunction;
+        private Function<Pageable, Page<ARCHIVED>> archivedQuery;
+        private SnapshotQuery<ARCHIVED> archivedSnapshotQuery;
+        private Function<? super ARCHIVED, ? extends RESULT> archivedMappingFunction;
+        private Sort.Order defaultSort = Pager.DEFAULT_SORT;
+        private LongSupplier clock = System::currentTimeMillis;
+
+        private Builder() {
+        }
+
+        /**
+         * @param liveQuery - the query against the live collection
+         * @return - this builder
+         */
+        public Builder<LIVE, ARCHIVED, RESULT> liveQuery(Function<Pageable, Page<LIVE>> liveQuery) {
+            this.liveQuery = liveQuery;
+            return this;
+        }
+
+        /**
+         * @param liveSnapshotQuery - the query against the live collection as it was at a snapshot timestamp, per the {@link SnapshotQuery} contract
+         * @return - this builder
+         */
+        public Builder<LIVE, ARCHIVED, RESULT> liveSnapshotQuery(SnapshotQuery<LIVE> liveSnapshotQuery) {
+            this.liveSnapshotQuery = liveSnapshotQuery;
+            return this;
+        }
+
+        /**
+         * @param liveMappingFunction - the function which maps live collection results to the RESULT object
+         * @return - this builder
+         */
+        public Builder<LIVE, ARCHIVED, RESULT> liveMappingFunction(Function<? super LIVE, ? extends RESULT> liveMappingFunction) {
+            this.liveMappingFunction = liveMappingFunction;
+            return this;
+        }
+
+        /**
+         * @param archivedQuery - the query against the archived collection
+         * @return - this builder
+         */
+        public Builder<LIVE, ARCHIVED, RESULT> archivedQuery(Function<Pageable, Page<ARCHIVED>> archivedQuery) {
+            this.archivedQuery = archivedQuery;
+            return this;
+        }
+
+        /**
+         * @param archivedSnapshotQuery - the query against the archived collection as it was at a snapshot timestamp, per the {@link SnapshotQuery} contract
+         * @return - this builder
+         */
+        public Builder<LIVE, ARCHIVED, RESULT> archivedSnapshotQuery(SnapshotQuery<ARCHIVED> archivedSnapshotQuery) {
+            this.archivedSnapshotQuery = archivedSnapshotQuery;
+            return this;
+        }
+
+        /**
+         * @param archivedMappingFunction - the function which maps archived collection results to the RESULT object
+         * @return - this builder
+         */
+        public Builder<LIVE, ARCHIVED, RESULT> archivedMappingFunction(Function<? super ARCHIVED, ? extends RESULT> archivedMappingFunction) {
+            this.archivedMappingFunction = archivedMappingFunction;
+            return this;
+        }
+
+        /**
+         * @param defaultSort - the sort field and direction applied to unsorted page requests before querying
+         * @return - this builder
+         */
+        public Builder<LIVE, ARCHIVED, RESULT> defaultSort(Sort.Order defaultSort) {
+            this.defaultSort = defaultSort;
+            return this;
+        }
+
+        /**
+         * @param clock - supplies the timestamp of new snapshots, in the same units as the sort field
+         * @return - this builder
+         */
+        public Builder<LIVE, ARCHIVED, RESULT> clock(LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * @return - a MergedPager bound to the supplied queries, mapping functions, default sort and clock
+         * @throws IllegalArgumentException if any of the queries, mapping functions, the default sort or the clock is null, or only one snapshot query is supplied
+         */
+        public MergedPager<LIVE, ARCHIVED, RESULT> build() {
+            requireNonNull(liveQuery, "Live query");
+            requireNonNull(liveMappingFunction, "Live mapping function");
+            requireNonNull(archivedQuery, "Archived query");
+            requireNonNull(archivedMappingFunction, "Archived mapping function");
+            requireNonNull(defaultSort, "Default sort");
+            requireNonNull(clock, "Clock");
+            if ((liveSnapshotQuery == null) != (archivedSnapshotQuery == null)) {
+                String message = "Both snapshot queries must be supplied to page with snapshots";
+                log.error(message);
+                throw new IllegalArgumentException(message);
+            }
+            return new MergedPager<>(this);
+        }
+
+        private static void requireNonNull(Object value, String name) {
+            if (value == null) {
+                String message = name + " must not be null";
+                log.error(message);
+                throw new IllegalArgumentException(message);
+            }
+        }
+    }
+}
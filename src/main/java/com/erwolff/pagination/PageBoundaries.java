@@ -0,0 +1,288 @@
+package com.erwolff.pagination;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.*;
+
+/**
+ * Boundary calculations shared by the pagers for merging an initial and a secondary collection into a single page.
+ *
+ * The initial collection (ASC: archived, DESC: live) fills the page first; the secondary collection fills the remainder,
+ * starting at the page offset less the initial collection's total.
+ */
+final class PageBoundaries {
+    private static final Logger log = LoggerFactory.getLogger(PageBoundaries.class.getSimpleName());
+
+    private PageBoundaries() {
+    }
+
+    /**
+     * Verifies that the supplied page request is valid
+     * @param pageable - the page request
+     * @throws IllegalArgumentException if the page request is invalid
+     */
+    static void validate(Pageable pageable) {
+        // Let's assume that we have exception handling which maps these IllegalArgumentExceptions into HttpStatus 400s
+        if (pageable == null) {
+            String message = "Page request must not be null";
+            log.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        if (pageable.getPageSize() <= 0) {
+            String message = "Page size must be greater than 0";
+            log.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        if (pageable.getPageNumber() < 0) {
+            String message = "Page number must not be negative";
+            log.error(message);
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    /**
+     * Applies the default sort to an unsorted page request, so that the queries return elements in the order the merge expects
+     * @param pageable - the page request
+     * @param defaultSort - the sort to apply if the page request is unsorted
+     * @return the supplied page request if it is sorted, otherwise an equivalent page request with the default sort
+     */
+    static Pageable sorted(Pageable pageable, Sort defaultSort) {
+        Sort sort = pageable.getSort();
+        if (sort != null && sort.iterator().hasNext()) {
+            return pageable;
+        }
+        return new PageRequest(pageable.getPageNumber(), pageable.getPageSize(), defaultSort);
+    }
+
+    /**
+     * Determines the sort direction of the supplied sorted page request (we're only going to worry about a single sort - multiple sorting is too complex for this exercise)
+     * @param pageable - the page request, as returned by {@link #sorted}
+     * @return the direction of the first sort order of the page request
+     */
+    static Sort.Direction direction(Pageable pageable) {
+        return pageable.getSort().iterator().next().getDirection();
+    }
+
+    /**
+     * Determines the page request needed to retrieve the secondary results which fill out the remainder of the page
+     *
+     * @param initialResults - the results from the initial collection for the page request
+     * @param secondaryResults - the results already retrieved from the secondary collection
+     * @param pageable - the page request
+     * @return - the page request to perform against the secondary collection, or null if the supplied secondaryResults already suffice
+     */
+    static Pageable secondaryPageable(Page<?> initialResults, Page<?> secondaryResults, Pageable pageable) {
+        long boundary = initialResults.getTotalElements();
+        int initialCount = initialCount(initialResults, pageable, boundary);
+        if (initialCount >= pageable.getPageSize()) {
+            return null;
+        }
+
+        long start = secondaryStart(pageable, boundary);
+        long end = secondaryEnd(secondaryResults.getTotalElements(), pageable, boundary, initialCount);
+        if (start >= end || covers(secondaryResults, start, end)) {
+            return null;
+        }
+        return coveringPageable(start, end, pageable.getSort());
+    }
+
+    /**
+     * Determines the page request needed to retrieve the initial results of a page within a snapshot
+     *
+     * @param snapshot - the snapshot the page is computed as of
+     * @param pageable - the page request
+     * @return - the page request to perform against the initial collection, or null if the page lies entirely within the secondary collection
+     */
+    static Pageable initialPageable(PageSnapshot snapshot, Pageable pageable) {
+        return initialCount(snapshot, pageable) > 0 ? pageable : null;
+    }
+
+    /**
+     * Determines the page request needed to retrieve the secondary results of a page within a snapshot. Unlike
+     * {@link #secondaryPageable(Page, Page, Pageable)} this needs no results, so at most one query is performed against each collection.
+     *
+     * @param snapshot - the snapshot the page is computed as of
+     * @param pageable - the page request
+     * @return - the page request to perform against the secondary collection, or null if the page lies entirely within the initial collection
+     */
+    static Pageable secondaryPageable(PageSnapshot snapshot, Pageable pageable) {
+        long boundary = initialTotal(snapshot, pageable);
+        int initialCount = initialCount(snapshot, pageable);
+        long start = secondaryStart(pageable, boundary);
+        long end = secondaryEnd(snapshot.getTotalElements() - boundary, pageable, boundary, initialCount);
+        if (start >= end) {
+            return null;
+        }
+        return coveringPageable(start, end, pageable.getSort());
+    }
+
+    /**
+     * Maps the initial results, followed by the slice of the secondary results which fills out the remainder of the page
+     *
+     * @param initialResults - the results from the initial collection for the page request
+     * @param initialMappingFunction - the function which maps the initial results to the RESULT object
+     * @param secondaryResults - results from the secondary collection which cover the remainder of the page
+     * @param secondaryMappingFunction - the function which maps the secondary results to the RESULT object
+     * @param pageable - the page request
+     * @return - an org.springframework.data.Page of type RESULT
+     */
+    static <RESULT, INITIAL, SECONDARY> Page<RESULT> merge(Page<INITIAL> initialResults, Function<? super INITIAL, ? extends RESULT> initialMappingFunction,
+                                                           Page<SECONDARY> secondaryResults, Function<? super SECONDARY, ? extends RESULT> secondaryMappingFunction,
+                                                           Pageable pageable) {
+        List<RESULT> content = mergeContent(initialResults, initialMappingFunction, secondaryResults, secondaryMappingFunction, pageable,
+                initialResults.getTotalElements(), secondaryResults.getTotalElements());
+        return new PageImpl<>(content, pageable, initialResults.getTotalElements() + secondaryResults.getTotalElements());
+    }
+
+    /**
+     * Maps the initial results, followed by the slice of the secondary results which fills out the remainder of the page, locating
+     * the page within the merged results by the snapshot's totals and returning a page which carries the snapshot
+     *
+     * @param initialResults - the results from the initial collection for the page request as of the snapshot, or null if none were needed
+     * @param initialMappingFunction - the function which maps the initial results to the RESULT object
+     * @param secondaryResults - results from the secondary collection which cover the remainder of the page as of the snapshot, or null if none were needed
+     * @param secondaryMappingFunction - the function which maps the secondary results to the RESULT object
+     * @param pageable - the page request
+     * @param snapshot - the snapshot the results were queried as of
+     * @return - a page of type RESULT carrying the supplied snapshot
+     */
+    static <RESULT, INITIAL, SECONDARY> SnapshotPage<RESULT> merge(Page<INITIAL> initialResults, Function<? super INITIAL, ? extends RESULT> initialMappingFunction,
+                                                                   Page<SECONDARY> secondaryResults, Function<? super SECONDARY, ? extends RESULT> secondaryMappingFunction,
+                                                                   Pageable pageable, PageSnapshot snapshot) {
+        long boundary = initialTotal(snapshot, pageable);
+        List<RESULT> content = mergeContent(initialResults, initialMappingFunction, secondaryResults, secondaryMappingFunction, pageable,
+                boundary, snapshot.getTotalElements() - boundary);
+        return new SnapshotPage<>(content, pageable, snapshot);
+    }
+
+    /**
+     * Maps the page's content into a list which is sized exactly and handed to the resulting page without copying. Either
+     * results may be null if the page doesn't span their collection.
+     */
+    private static <RESULT, INITIAL, SECONDARY> List<RESULT> mergeContent(Page<INITIAL> initialResults, Function<? super INITIAL, ? extends RESULT> initialMappingFunction,
+                                                                         Page<SECONDARY> secondaryResults, Function<? super SECONDARY, ? extends RESULT> secondaryMappingFunction,
+                                                                         Pageable pageable, long boundary, long secondaryTotal) {
+        int initialCount = initialResults == null ? 0 : initialCount(initialResults, pageable, boundary);
+
+        int from = 0;
+        int to = 0;
+        if (secondaryResults != null && initialCount < pageable.getPageSize()) {
+            from = secondaryFrom(secondaryResults, pageable, boundary);
+            to = secondaryTo(secondaryResults, pageable, boundary, secondaryTotal, initialCount);
+        }
+
+        List<RESULT> content = new ArrayList<>(initialCount + Math.max(0, to - from));
+        if (initialCount > 0) {
+            List<INITIAL> initialContent = initialResults.getContent();
+            for (int i = 0; i < initialCount; i++) {
+                content.add(initialMappingFunction.apply(initialContent.get(i)));
+            }
+        }
+        if (from < to) {
+            List<SECONDARY> secondaryContent = secondaryResults.getContent();
+            for (int i = from; i < to; i++) {
+                content.add(secondaryMappingFunction.apply(secondaryContent.get(i)));
+            }
+        }
+        return content;
+    }
+
+    /**
+     * Calculates the number of the initial results which fall on the page, ignoring any beyond the boundary
+     */
+    static int initialCount(Page<?> initialResults, Pageable pageable, long boundary) {
+        long remaining = Math.max(0, boundary - (long) pageable.getPageNumber() * pageable.getPageSize());
+        return (int) Math.min(Math.min(initialResults.getNumberOfElements(), pageable.getPageSize()), remaining);
+    }
+
+    /**
+     * Calculates the index within the secondary results of the first element of the page which they fill
+     */
+    static int secondaryFrom(Page<?> secondaryResults, Pageable pageable, long boundary) {
+        return (int) (secondaryStart(pageable, boundary) - offset(secondaryResults));
+    }
+
+    /**
+     * Calculates the index within the secondary results after the last element of the page which they fill; this equals
+     * {@link #secondaryFrom} if the page has no secondary elements
+     */
+    static int secondaryTo(Page<?> secondaryResults, Pageable pageable, long boundary, long secondaryTotal, int initialCount) {
+        long start = secondaryStart(pageable, boundary);
+        long end = Math.min(secondaryEnd(secondaryTotal, pageable, boundary, initialCount), offset(secondaryResults) + secondaryResults.getNumberOfElements());
+        return (int) (Math.max(start, end) - offset(secondaryResults));
+    }
+
+    /**
+     * Calculates the number of elements of the page which lie within the initial collection of the snapshot
+     */
+    private static int initialCount(PageSnapshot snapshot, Pageable pageable) {
+        long remaining = Math.max(0, initialTotal(snapshot, pageable) - (long) pageable.getPageNumber() * pageable.getPageSize());
+        return (int) Math.min(pageable.getPageSize(), remaining);
+    }
+
+    /**
+     * Determines the total of the snapshot's initial collection for the sort of the page request (ASC: archived, DESC: live)
+     */
+    private static long initialTotal(PageSnapshot snapshot, Pageable pageable) {
+        return Sort.Direction.ASC == direction(pageable) ? snapshot.getArchivedTotal() : snapshot.getLiveTotal();
+    }
+
+    /**
+     * Calculates the index within the secondary collection of the first element of the page
+     */
+    private static long secondaryStart(Pageable pageable, long boundary) {
+        return Math.max(0, (long) pageable.getPageNumber() * pageable.getPageSize() - boundary);
+    }
+
+    /**
+     * Calculates the index within the secondary collection after the last element of the page
+     */
+    private static long secondaryEnd(long secondaryTotal, Pageable pageable, long boundary, int initialCount) {
+        long remaining = pageable.getPageSize() - initialCount;
+        return Math.min(secondaryTotal, secondaryStart(pageable, boundary) + remaining);
+    }
+
+    /**
+     * Determines whether the supplied Page contains every element in the range [start, end) of its collection
+     */
+    private static boolean covers(Page<?> page, long start, long end) {
+        long offset = offset(page);
+        return offset <= start && offset + page.getNumberOfElements() >= end;
+    }
+
+    /**
+     * Calculates the index within its collection of the first element of the supplied Page
+     */
+    private static long offset(Page<?> page) {
+        return (long) page.getNumber() * page.getSize();
+    }
+
+    /**
+     * Finds the smallest page request which retrieves every element in the range [start, end). As a Pageable can only
+     * express offsets which are a multiple of its page size, the page size is grown until a single page spans the range.
+     * A page size of end (page 0) always satisfies this, as long as end fits in a Pageable's int page size.
+     *
+     * @param start - the index of the first element required
+     * @param end - the index after the last element required
+     * @param sort - the sort to apply
+     * @return - the page request spanning the range
+     * @throws IllegalArgumentException if no page request with an int page number and page size spans the range
+     */
+    static Pageable coveringPageable(long start, long end, Sort sort) {
+        long maxPageSize = Math.min(end, Integer.MAX_VALUE);
+        for (long pageSize = end - start; pageSize <= maxPageSize; pageSize++) {
+            long pageNumber = start / pageSize;
+            if (pageNumber <= Integer.MAX_VALUE && (pageNumber + 1) * pageSize >= end) {
+                return new PageRequest((int) pageNumber, (int) pageSize, sort);
+            }
+        }
+
+        String message = "Elements [" + start + ", " + end + ") cannot be retrieved with a single page request";
+        log.error(message);
+        throw new IllegalArgumentException(message);
+    }
+}
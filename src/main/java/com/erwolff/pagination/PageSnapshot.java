@@ -0,0 +1,88 @@
+package com.erwolff.pagination;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A lightweight token capturing the moment a sequence of page requests is computed as of, along with the per-collection
+ * totals at that moment.
+ *
+ * Supplying the token returned with a page to subsequent page requests passes its timestamp to each {@link SnapshotQuery},
+ * which returns its collection as it was at that moment: drives started since are excluded, and drives which ended since are
+ * still placed in the live collection. Every page of the sequence is therefore a slice of the same merged results, so drives
+ * inserted into the live collection between page requests don't appear part way through, and drives which end between page
+ * requests - wherever they fall in the sort - are neither duplicated nor skipped. This holds only as far as the queries honor
+ * the {@link SnapshotQuery} contract.
+ *
+ * As the totals of both collections as of the snapshot are fixed, they locate each later page within the merged results
+ * without counting again: only the collections the page spans are queried, and each is queried once.
+ */
+public final class PageSnapshot implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final Logger log = LoggerFactory.getLogger(PageSnapshot.class.getSimpleName());
+
+    private final long timestamp;
+    private final long liveTotal;
+    private final long archivedTotal;
+
+    /**
+     * @param timestamp - the moment the snapshot was taken; elements with a later timestamp are excluded from its pages
+     * @param liveTotal - the total number of elements in the live collection as of the snapshot
+     * @param archivedTotal - the total number of elements in the archived collection as of the snapshot
+     * @throws IllegalArgumentException if either total is negative
+     */
+    public PageSnapshot(long timestamp, long liveTotal, long archivedTotal) {
+        if (liveTotal < 0 || archivedTotal < 0) {
+            String message = "Snapshot totals must not be negative";
+            log.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        this.timestamp = timestamp;
+        this.liveTotal = liveTotal;
+        this.archivedTotal = archivedTotal;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getLiveTotal() {
+        return liveTotal;
+    }
+
+    public long getArchivedTotal() {
+        return archivedTotal;
+    }
+
+    /**
+     * @return - the combined total number of elements from both collections as of the snapshot
+     */
+    public long getTotalElements() {
+        return liveTotal + archivedTotal;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PageSnapshot)) {
+            return false;
+        }
+        PageSnapshot that = (PageSnapshot) o;
+        return timestamp == that.timestamp && liveTotal == that.liveTotal && archivedTotal == that.archivedTotal;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(timestamp, liveTotal, archivedTotal);
+    }
+
+    @Override
+    public String toString() {
+        return "PageSnapshot{timestamp=" + timestamp + ", liveTotal=" + liveTotal + ", archivedTotal=" + archivedTotal + "}";
+    }
+}
@@ -1,8 +1,13 @@
 package com.erwolff.pagination;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.LongSupplier;
 
-import com.google.common.collect.Iterators;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.*;
@@ -16,6 +21,26 @@ public class Pager {
     static final String DEFAULT_SORT_FIELD = "timestamp";
     static final Sort.Direction DEFAULT_SORT_DIRECTION = Sort.Direction.DESC;
     static final Sort.Order DEFAULT_SORT = new Sort.Order(DEFAULT_SORT_DIRECTION, DEFAULT_SORT_FIELD);
+    private static final Sort DEFAULT_PAGE_SORT = new Sort(DEFAULT_SORT);
+
+    private final LongSupplier clock;
+
+    public Pager() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock - supplies the timestamp of new snapshots, in the same units as the sort field
+     * @throws IllegalArgumentException if the clock is null
+     */
+    public Pager(LongSupplier clock) {
+        if (clock == null) {
+            String message = "Clock must not be null";
+            log.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        this.clock = clock;
+    }
 
     /**
      * Performs pagination over the two collections using the supplied queries and mapping the results to the specified RESULT object
@@ -24,90 +49,341 @@ public class Pager {
      * @param archivedQuery - the query against the archived collection
      * @param liveMappingFunction - the function which maps live collection results to the RESULT object
      * @param archivedMappingFunction - the function which maps archived collection results to the RESULT object
-     * @param pageable - the page request
+     * @param pageable - the page request; if unsorted, the default sort is applied
      * @return - an org.springframework.data.Page of type RESULT
      */
     public <LIVE, ARCHIVED, RESULT> Page<RESULT> pageAndMerge(Function<Pageable, Page<LIVE>> liveQuery, Function<LIVE, RESULT> liveMappingFunction, Function<Pageable, Page<ARCHIVED>> archivedQuery, Function<ARCHIVED, RESULT> archivedMappingFunction, Pageable pageable) {
-        if (pageable.getPageSize() <= 0) {
-            String message = "Page size must be greater than 0";
-            log.error(message);
-            // Let's assume that we have exception handling which maps these IllegalArgumentExceptions into HttpStatus 400s
-            throw new IllegalArgumentException(message);
-        }
+        PageBoundaries.validate(pageable);
+        pageable = PageBoundaries.sorted(pageable, DEFAULT_PAGE_SORT);
+
+        // perform both queries in order to be able to calculate the total number of results between collections
+        Page<LIVE> liveResults = liveQuery.apply(pageable);
+        Page<ARCHIVED> archivedResults = archivedQuery.apply(pageable);
 
-        //TODO: What are some other error cases we should handle?
+        if (isAscending(pageable)) {
+            // sort is ASC: archivedResults are initial, liveResults are secondary
+            liveResults = secondaryResults(archivedResults, liveResults, liveQuery, pageable);
+            return PageBoundaries.merge(archivedResults, archivedMappingFunction, liveResults, liveMappingFunction, pageable);
+        }
 
-        // Note: feel free to change any of the below (including the params passed to the private function), there are definitely better ways of doing this
+        // sort is DESC: liveResults are initial, archivedResults are secondary
+        archivedResults = secondaryResults(liveResults, archivedResults, archivedQuery, pageable);
+        return PageBoundaries.merge(liveResults, liveMappingFunction, archivedResults, archivedMappingFunction, pageable);
+    }
 
+    /**
+     * Performs pagination over the two collections using the supplied queries and mapping the results to the specified RESULT object,
+     * computing the page as of the supplied snapshot so that sequential page requests stay consistent while drives are inserted
+     * into the live collection and migrate from the live collection to the archived collection
+     *
+     * @param liveQuery - the query against the live collection as it was at a snapshot timestamp, per the {@link SnapshotQuery} contract
+     * @param archivedQuery - the query against the archived collection as it was at a snapshot timestamp, per the {@link SnapshotQuery} contract
+     * @param liveMappingFunction - the function which maps live collection results to the RESULT object
+     * @param archivedMappingFunction - the function which maps archived collection results to the RESULT object
+     * @param pageable - the page request; if unsorted, the default sort is applied
+     * @param snapshot - the snapshot returned with a previous page, or null to take a new snapshot
+     * @return - a page of type RESULT carrying the snapshot to supply with subsequent page requests
+     */
+    public <LIVE, ARCHIVED, RESULT> SnapshotPage<RESULT> pageAndMerge(SnapshotQuery<LIVE> liveQuery, Function<LIVE, RESULT> liveMappingFunction, SnapshotQuery<ARCHIVED> archivedQuery, Function<ARCHIVED, RESULT> archivedMappingFunction, Pageable pageable, PageSnapshot snapshot) {
+        PageBoundaries.validate(pageable);
+        pageable = PageBoundaries.sorted(pageable, DEFAULT_PAGE_SORT);
+        if (snapshot == null) {
+            return pageAndSnapshot(liveQuery, liveMappingFunction, archivedQuery, archivedMappingFunction, pageable, clock.getAsLong());
+        }
 
-        // Here's some initial help to get the ball rolling. This is by no means the best way to do this, but
-        // it should help provide some basic direction. We're going to perform the queries against the two
-        // collections, then we'll calculate the total elements that were returned, determine the sort that was supplied,
-        // and call a helper function which will perform the complex logic. We're doing these steps first so that the
-        // helper function doesn't need to know the difference between archived vs live, and instead can just perform its logic
-        // agnostic of that concept
+        // the snapshot's totals locate the page within the merged results, so only the collections the page spans are queried, once each
+        long timestamp = snapshot.getTimestamp();
+        Pageable initialPageable = PageBoundaries.initialPageable(snapshot, pageable);
+        Pageable secondaryPageable = PageBoundaries.secondaryPageable(snapshot, pageable);
 
-        // perform both queries in order to be able to calculate the total number of results between collections
-        Page<LIVE> liveResults = liveQuery.apply(pageable);
-        Page<ARCHIVED> archivedResults = archivedQuery.apply(pageable);
+        if (isAscending(pageable)) {
+            // sort is ASC: archived results are initial, live results are secondary
+            Page<ARCHIVED> archivedResults = query(archivedQuery, initialPageable, timestamp);
+            Page<LIVE> liveResults = query(liveQuery, secondaryPageable, timestamp);
+            return PageBoundaries.merge(archivedResults, archivedMappingFunction, liveResults, liveMappingFunction, pageable, snapshot);
+        }
 
-        // calculate total elements
-        long totalElements = liveResults.getTotalElements() + archivedResults.getTotalElements();
+        // sort is DESC: live results are initial, archived results are secondary
+        Page<LIVE> liveResults = query(liveQuery, initialPageable, timestamp);
+        Page<ARCHIVED> archivedResults = query(archivedQuery, secondaryPageable, timestamp);
+        return PageBoundaries.merge(liveResults, liveMappingFunction, archivedResults, archivedMappingFunction, pageable, snapshot);
+    }
 
-        // determine the sort requested (we're only going to worry about a single sort - multiple sorting is too complex for this exercise)
-        Sort.Order sort = Iterators.get(pageable.getSort().iterator(), 0, DEFAULT_SORT);
+    /**
+     * Performs the first page request of a sequence, snapshotting the totals of both collections as of the supplied timestamp
+     */
+    private <LIVE, ARCHIVED, RESULT> SnapshotPage<RESULT> pageAndSnapshot(SnapshotQuery<LIVE> liveQuery, Function<LIVE, RESULT> liveMappingFunction, SnapshotQuery<ARCHIVED> archivedQuery, Function<ARCHIVED, RESULT> archivedMappingFunction, Pageable pageable, long timestamp) {
+        // perform both queries in order to be able to calculate the total number of results between collections
+        Page<LIVE> liveResults = liveQuery.apply(pageable, timestamp);
+        Page<ARCHIVED> archivedResults = archivedQuery.apply(pageable, timestamp);
+        PageSnapshot snapshot = new PageSnapshot(timestamp, liveResults.getTotalElements(), archivedResults.getTotalElements());
 
-        if (Sort.Direction.ASC == sort.getDirection()) {
+        if (isAscending(pageable)) {
             // sort is ASC: archivedResults are initial, liveResults are secondary
-            return pageAndMerge(archivedResults, archivedMappingFunction, liveResults, liveQuery, liveMappingFunction, totalElements, pageable, sort);
+            liveResults = secondaryResults(archivedResults, liveResults, p -> liveQuery.apply(p, timestamp), pageable);
+            return PageBoundaries.merge(archivedResults, archivedMappingFunction, liveResults, liveMappingFunction, pageable, snapshot);
         }
 
         // sort is DESC: liveResults are initial, archivedResults are secondary
-        return pageAndMerge(liveResults, liveMappingFunction, archivedResults, archivedQuery, archivedMappingFunction, totalElements, pageable, sort);
+        archivedResults = secondaryResults(liveResults, archivedResults, p -> archivedQuery.apply(p, timestamp), pageable);
+        return PageBoundaries.merge(liveResults, liveMappingFunction, archivedResults, archivedMappingFunction, pageable, snapshot);
     }
 
     /**
-     * Performs pagination over the two collections using the supplied queries and mapping the results to the specified RESULT object
+     * Performs pagination over the two collections for many page requests at once. Rather than querying each collection
+     * once per request, the requests are grouped into a single multi-key query per collection, and the combined results are
+     * split back into a page per request using the same boundary logic as {@link #pageAndMerge}.
+     *
+     * A second round of (at most one per collection) batched queries is performed only for the requests whose page
+     * straddles the boundary between the two collections and whose secondary results were not already covered by the first round.
+     *
+     * Keys omitted from a batched query's result are treated as having no elements in that collection.
+     *
+     * @param liveBatchQuery - the multi-key query against the live collection, returning a page per requested key
+     * @param liveMappingFunction - the function which maps live collection results to the RESULT object
+     * @param archivedBatchQuery - the multi-key query against the archived collection, returning a page per requested key
+     * @param archivedMappingFunction - the function which maps archived collection results to the RESULT object
+     * @param pageables - the page request for each query key (e.g. an account id); the default sort is applied to unsorted requests
+     * @return - an org.springframework.data.Page of type RESULT per query key, in the iteration order of the supplied pageables
+     */
+    public <KEY, LIVE, ARCHIVED, RESULT> Map<KEY, Page<RESULT>> pageAndMergeAll(Function<Map<KEY, Pageable>, Map<KEY, Page<LIVE>>> liveBatchQuery, Function<LIVE, RESULT> liveMappingFunction,
+                                                                              Function<Map<KEY, Pageable>, Map<KEY, Page<ARCHIVED>>> archivedBatchQuery, Function<ARCHIVED, RESULT> archivedMappingFunction,
+                                                                              Map<KEY, Pageable> pageables) {
+        pageables = sortedPageables(pageables);
+        if (pageables.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        // perform one query per collection for all keys in order to be able to calculate the totals of every request
+        Map<KEY, Page<LIVE>> liveResults = batchQuery(liveBatchQuery, pageables);
+        Map<KEY, Page<ARCHIVED>> archivedResults = batchQuery(archivedBatchQuery, pageables);
+        followUp(liveBatchQuery, liveResults, archivedBatchQuery, archivedResults, pageables);
+
+        Map<KEY, Page<RESULT>> results = new LinkedHashMap<>();
+        for (Map.Entry<KEY, Pageable> entry : pageables.entrySet()) {
+            KEY key = entry.getKey();
+            Pageable pageable = entry.getValue();
+            Page<LIVE> live = pageOrEmpty(liveResults, key, pageable);
+            Page<ARCHIVED> archived = pageOrEmpty(archivedResults, key, pageable);
+
+            if (isAscending(pageable)) {
+                results.put(key, PageBoundaries.merge(archived, archivedMappingFunction, live, liveMappingFunction, pageable));
+            }
+            else {
+                results.put(key, PageBoundaries.merge(live, liveMappingFunction, archived, archivedMappingFunction, pageable));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Performs pagination over the two collections for many page requests at once as {@link #pageAndMergeAll(Function, Function, Function, Function, Map)} does,
+     * computing each page as of the snapshot supplied for its key so that sequential batches stay consistent while drives are
+     * inserted into the live collection and migrate from the live collection to the archived collection
+     *
+     * @param liveBatchQuery - the multi-key query against the live collection, returning a page per requested key of the collection as it was at the snapshot timestamp supplied for that key, per the {@link SnapshotQuery} contract
+     * @param liveMappingFunction - the function which maps live collection results to the RESULT object
+     * @param archivedBatchQuery - the multi-key query against the archived collection, returning a page per requested key of the collection as it was at the snapshot timestamp supplied for that key, per the {@link SnapshotQuery} contract
+     * @param archivedMappingFunction - the function which maps archived collection results to the RESULT object
+     * @param pageables - the page request for each query key (e.g. an account id); the default sort is applied to unsorted requests
+     * @param snapshots - the snapshot returned with a previous page for each query key; keys without one (or a null map) take a new snapshot
+     * @return - a page of type RESULT carrying the snapshot to supply with subsequent page requests per query key, in the iteration order of the supplied pageables
+     */
+    public <KEY, LIVE, ARCHIVED, RESULT> Map<KEY, SnapshotPage<RESULT>> pageAndMergeAll(BiFunction<Map<KEY, Pageable>, Map<KEY, Long>, Map<KEY, Page<LIVE>>> liveBatchQuery, Function<LIVE, RESULT> liveMappingFunction,
+                                                                                      BiFunction<Map<KEY, Pageable>, Map<KEY, Long>, Map<KEY, Page<ARCHIVED>>> archivedBatchQuery, Function<ARCHIVED, RESULT> archivedMappingFunction,
+                                                                                      Map<KEY, Pageable> pageables, Map<KEY, PageSnapshot> snapshots) {
+        pageables = sortedPageables(pageables);
+        if (pageables.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        if (snapshots == null) {
+            snapshots = Collections.emptyMap();
+        }
+
+        // every key without a snapshot shares a single new snapshot timestamp
+        long now = clock.getAsLong();
+        Map<KEY, Long> timestamps = new HashMap<>();
+        for (KEY key : pageables.keySet()) {
+            PageSnapshot snapshot = snapshots.get(key);
+            timestamps.put(key, snapshot == null ? now : snapshot.getTimestamp());
+        }
+        Map<KEY, Long> queryTimestamps = Collections.unmodifiableMap(timestamps);
+        Function<Map<KEY, Pageable>, Map<KEY, Page<LIVE>>> liveQuery = p -> liveBatchQuery.apply(p, queryTimestamps);
+        Function<Map<KEY, Pageable>, Map<KEY, Page<ARCHIVED>>> archivedQuery = p -> archivedBatchQuery.apply(p, queryTimestamps);
+
+        // keys without a snapshot query both collections in order to snapshot their totals, while the snapshot's totals locate
+        // the page of every other key within its merged results, so only the collections its page spans are queried
+        Map<KEY, Pageable> newPageables = new LinkedHashMap<>();
+        Map<KEY, Pageable> livePageables = new HashMap<>();
+        Map<KEY, Pageable> archivedPageables = new HashMap<>();
+        for (Map.Entry<KEY, Pageable> entry : pageables.entrySet()) {
+            KEY key = entry.getKey();
+            Pageable pageable = entry.getValue();
+            PageSnapshot snapshot = snapshots.get(key);
+            if (snapshot == null) {
+                newPageables.put(key, pageable);
+                livePageables.put(key, pageable);
+                archivedPageables.put(key, pageable);
+                continue;
+            }
+
+            Map<KEY, Pageable> initialPageables = isAscending(pageable) ? archivedPageables : livePageables;
+            Map<KEY, Pageable> secondaryPageables = isAscending(pageable) ? livePageables : archivedPageables;
+            Pageable initialPageable = PageBoundaries.initialPageable(snapshot, pageable);
+            if (initialPageable != null) {
+                initialPageables.put(key, initialPageable);
+            }
+            Pageable secondaryPageable = PageBoundaries.secondaryPageable(snapshot, pageable);
+            if (secondaryPageable != null) {
+                secondaryPageables.put(key, secondaryPageable);
+            }
+        }
+
+        Map<KEY, Page<LIVE>> liveResults = batchQuery(liveQuery, livePageables);
+        Map<KEY, Page<ARCHIVED>> archivedResults = batchQuery(archivedQuery, archivedPageables);
+        followUp(liveQuery, liveResults, archivedQuery, archivedResults, newPageables);
+
+        Map<KEY, SnapshotPage<RESULT>> results = new LinkedHashMap<>();
+        for (Map.Entry<KEY, Pageable> entry : pageables.entrySet()) {
+            KEY key = entry.getKey();
+            Pageable pageable = entry.getValue();
+            PageSnapshot snapshot = snapshots.get(key);
+            Page<LIVE> live;
+            Page<ARCHIVED> archived;
+            if (snapshot == null) {
+                live = pageOrEmpty(liveResults, key, pageable);
+                archived = pageOrEmpty(archivedResults, key, pageable);
+                snapshot = new PageSnapshot(now, live.getTotalElements(), archived.getTotalElements());
+            }
+            else {
+                // keys the snapshot didn't need to query, or which the batched query omitted, have no results in that collection
+                live = liveResults.get(key);
+                archived = archivedResults.get(key);
+            }
+
+            if (isAscending(pageable)) {
+                results.put(key, PageBoundaries.merge(archived, archivedMappingFunction, live, liveMappingFunction, pageable, snapshot));
+            }
+            else {
+                results.put(key, PageBoundaries.merge(live, liveMappingFunction, archived, archivedMappingFunction, pageable, snapshot));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Validates the supplied page requests and applies the default sort to any which are unsorted
+     *
+     * @param pageables - the page request for each query key
+     * @return - the sorted page requests, in the iteration order of the supplied pageables
+     * @throws IllegalArgumentException if the page requests are null or any of them is invalid
+     */
+    private <KEY> Map<KEY, Pageable> sortedPageables(Map<KEY, Pageable> pageables) {
+        if (pageables == null) {
+            String message = "Page requests must not be null";
+            log.error(message);
+            throw new IllegalArgumentException(message);
+        }
+
+        Map<KEY, Pageable> sortedPageables = new LinkedHashMap<>();
+        for (Map.Entry<KEY, Pageable> entry : pageables.entrySet()) {
+            PageBoundaries.validate(entry.getValue());
+            sortedPageables.put(entry.getKey(), PageBoundaries.sorted(entry.getValue(), DEFAULT_PAGE_SORT));
+        }
+        return sortedPageables;
+    }
+
+    /**
+     * Performs a second round of (at most one per collection) batched queries for the requests whose secondary results were
+     * not covered by the first round, replacing their secondary results with those of the follow-up queries
+     */
+    private <KEY, LIVE, ARCHIVED> void followUp(Function<Map<KEY, Pageable>, Map<KEY, Page<LIVE>>> liveBatchQuery, Map<KEY, Page<LIVE>> liveResults,
+                                                Function<Map<KEY, Pageable>, Map<KEY, Page<ARCHIVED>>> archivedBatchQuery, Map<KEY, Page<ARCHIVED>> archivedResults,
+                                                Map<KEY, Pageable> pageables) {
+        // collect the requests whose secondary results were not covered by the first round of queries
+        Map<KEY, Pageable> liveFollowUps = new HashMap<>();
+        Map<KEY, Pageable> archivedFollowUps = new HashMap<>();
+        for (Map.Entry<KEY, Pageable> entry : pageables.entrySet()) {
+            KEY key = entry.getKey();
+            Pageable pageable = entry.getValue();
+            Page<LIVE> live = pageOrEmpty(liveResults, key, pageable);
+            Page<ARCHIVED> archived = pageOrEmpty(archivedResults, key, pageable);
+
+            if (isAscending(pageable)) {
+                Pageable followUp = PageBoundaries.secondaryPageable(archived, live, pageable);
+                if (followUp != null) {
+                    liveFollowUps.put(key, followUp);
+                }
+            }
+            else {
+                Pageable followUp = PageBoundaries.secondaryPageable(live, archived, pageable);
+                if (followUp != null) {
+                    archivedFollowUps.put(key, followUp);
+                }
+            }
+        }
+
+        if (!liveFollowUps.isEmpty()) {
+            liveResults.putAll(batchQuery(liveBatchQuery, liveFollowUps));
+        }
+        if (!archivedFollowUps.isEmpty()) {
+            archivedResults.putAll(batchQuery(archivedBatchQuery, archivedFollowUps));
+        }
+    }
+
+    /**
+     * Retrieves the secondary results which fill out the remainder of the page
      *
-     * Reference the README.md for example output of this function
+     * Reference the README.md for example output of the merged page
      *
      * @param initialResults - the results from the first query performed based on the supplied sort (ASC: initial = archived, DESC: initial = live)
-     * @param initialMappingFunction = the function which maps the first query results to the RESULT object
      * @param secondaryResults - the results from the second query performed based on the supplied sort (ASC: secondary = live, DESC: secondary = archived)
      * @param secondaryQuery - the query to perform to retrieve secondary results based on the supplied sort (ASC: live query, DESC: archived query)
-     * @param secondaryMappingFunction - the function which maps the second query results to the RESULT object
-     * @param totalElements - the combined total number of elements from both queries
      * @param pageable - the page request
-     * @param sort - the sort field and direction
-     * @return - an org.springframework.data.Page of type RESULT
+     * @return - the supplied secondaryResults if they already cover the remainder of the page, otherwise the results of a follow-up secondary query which do
      */
-    private <RESULT, INITIAL, SECONDARY> Page<RESULT> pageAndMerge(Page<INITIAL> initialResults, Function<INITIAL, RESULT> initialMappingFunction, Page<SECONDARY> secondaryResults,
-                                                                          Function<Pageable, Page<SECONDARY>> secondaryQuery, Function<SECONDARY, RESULT> secondaryMappingFunction,
-                                                                          long totalElements, Pageable pageable, Sort.Order sort) {
-        // check if the initialResults page is already full
-        if (isFullPage(initialResults)) {
-            // TODO: initial results contained a full page, what should we do?
-            return null;
+    private <INITIAL, SECONDARY> Page<SECONDARY> secondaryResults(Page<INITIAL> initialResults, Page<SECONDARY> secondaryResults,
+                                                                  Function<Pageable, Page<SECONDARY>> secondaryQuery, Pageable pageable) {
+        // only re-query the secondary collection if the results we already have don't cover the remainder of the page
+        Pageable secondaryPageable = PageBoundaries.secondaryPageable(initialResults, secondaryResults, pageable);
+        if (secondaryPageable != null) {
+            return secondaryQuery.apply(secondaryPageable);
         }
+        return secondaryResults;
+    }
 
-        // TODO: check if all total results reside in the secondary collection - then we can short-circuit and return the results immediately
+    /**
+     * Performs the supplied query as of the snapshot timestamp, if there is a page request to perform
+     */
+    private <T> Page<T> query(SnapshotQuery<T> query, Pageable pageable, long timestamp) {
+        return pageable == null ? null : query.apply(pageable, timestamp);
+    }
 
-        //TODO: The rest is up to you! Some things to consider:
-        // Remember, we have the FULL results of the query from both collections - we need to whittle down those results to the correct results to be returned.
-        // Maybe keep track of total size vs the remaining size needed to fill out the results page.
-        // Consider a cursor or an offset calculation.
-        // Remember to apply the mapping functions!
+    /**
+     * Performs the supplied batched query, returning a mutable copy of its results, or no results if there are no page requests
+     */
+    private <KEY, T> Map<KEY, Page<T>> batchQuery(Function<Map<KEY, Pageable>, Map<KEY, Page<T>>> batchQuery, Map<KEY, Pageable> pageables) {
+        if (pageables.isEmpty()) {
+            return new HashMap<>();
+        }
+        Map<KEY, Page<T>> results = batchQuery.apply(Collections.unmodifiableMap(pageables));
+        return results == null ? new HashMap<>() : new HashMap<>(results);
+    }
 
-        return null;
+    /**
+     * Retrieves the page for the supplied key, or an empty page if the batched query returned no results for it
+     */
+    private <KEY, T> Page<T> pageOrEmpty(Map<KEY, Page<T>> results, KEY key, Pageable pageable) {
+        Page<T> page = results.get(key);
+        return page == null ? new PageImpl<>(Collections.emptyList(), pageable, 0) : page;
     }
 
     /**
-     * Determines whether the supplied Page has a full set of results
-     * @param page - the supplied page
-     * @return true IFF the supplied page has a full set of results
+     * Determines whether the supplied sorted page request is sorted ASC
+     * @param pageable - the page request
+     * @return true IFF the page request is sorted ASC
      */
-    private boolean isFullPage(Page<?> page) {
-        //TODO: write this logic - consider page.hasContent(), page.getSize(), page.getNumberOfElements()
-        return true;
+    private boolean isAscending(Pageable pageable) {
+        return Sort.Direction.ASC == PageBoundaries.direction(pageable);
     }
 }
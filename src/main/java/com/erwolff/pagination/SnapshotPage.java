@@ -0,0 +1,44 @@
+package com.erwolff.pagination;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * A page of merged results which also carries the {@link PageSnapshot} it was computed as of. Supply the snapshot with
+ * subsequent page requests to keep paging consistent while elements migrate between collections.
+ *
+ * @param <T> - the type of the page content
+ */
+public class SnapshotPage<T> extends PageImpl<T> {
+    private static final long serialVersionUID = 1L;
+
+    private final PageSnapshot snapshot;
+
+    public SnapshotPage(List<T> content, Pageable pageable, PageSnapshot snapshot) {
+        super(content, pageable, snapshot.getTotalElements());
+        this.snapshot = snapshot;
+    }
+
+    public PageSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SnapshotPage)) {
+            return false;
+        }
+        return super.equals(o) && snapshot.equals(((SnapshotPage<?>) o).snapshot);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Objects.hashCode(snapshot);
+    }
+}
@@ -0,0 +1,31 @@
+package com.erwolff.pagination;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * A query against one of the collections which returns the collection as it was at the timestamp of a {@link PageSnapshot}:
+ * elements created after the timestamp are excluded, and every other element is placed in the collection it belonged to at
+ * the timestamp. A drive which ended after the snapshot is therefore still returned by the live query (mapped from its
+ * archived form) and excluded from the archived query, wherever it falls in the sort.
+ *
+ * This requires archived elements to record when they were archived, e.g.
+ * {@code (pageable, timestamp) -> archivedDriveRepository.findByTimestampLessThanEqualAndArchivedAtLessThanEqual(timestamp, timestamp, pageable)}
+ * for the archived query, and the union of live drives started at or before the timestamp with archived drives archived
+ * after it for the live query.
+ *
+ * The totals of the returned pages are only read when a new snapshot is taken; later pages of the sequence are located
+ * within the merged results by the snapshot's totals.
+ *
+ * @param <T> - the type of the collection results
+ */
+@FunctionalInterface
+public interface SnapshotQuery<T> {
+
+    /**
+     * @param pageable - the page request
+     * @param timestamp - the snapshot timestamp
+     * @return - the page of results from the collection as it was at the snapshot timestamp, with the collection's total at that timestamp
+     */
+    Page<T> apply(Pageable pageable, long timestamp);
+}
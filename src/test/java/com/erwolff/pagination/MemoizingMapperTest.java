@@ -0,0 +1,144 @@
+package com.erwolff.pagination;
+
+import com.erwolff.data.ArchivedDrive;
+import com.erwolff.data.DriveType;
+import com.erwolff.data.LiveDrive;
+import com.erwolff.data.Translator;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class MemoizingMapperTest {
+
+    @Test (description = "Verifies that an element is only mapped once per identity")
+    public void test_apply_memoizesByIdentity() {
+        int[] mappings = {0};
+        MemoizingMapper<ArchivedDrive, Long, LiveDrive> mapper = MemoizingMapper.ofOptional(ArchivedDrive::getTimestamp, ad -> {
+            mappings[0]++;
+            return Translator.translate(ad);
+        }, 10);
+
+        LiveDrive first = mapper.apply(new ArchivedDrive(1));
+        LiveDrive second = mapper.apply(new ArchivedDrive(1));
+        mapper.apply(new ArchivedDrive(2));
+
+        assertThat(first).isSameAs(second);
+        assertThat(first.getType()).isEqualTo(DriveType.ARCHIVED);
+        assertThat(first.getTimestamp()).isEqualTo(1);
+        assertThat(mappings[0]).isEqualTo(2);
+    }
+
+    @Test (description = "Verifies that an Optional-returning mapping function held in a variable can be memoized")
+    public void test_ofOptional_functionVariable() {
+        Function<ArchivedDrive, Optional<LiveDrive>> enrichment = Translator::translate;
+        MemoizingMapper<ArchivedDrive, Long, LiveDrive> mapper = MemoizingMapper.ofOptional(ArchivedDrive::getTimestamp, enrichment, 10);
+
+        LiveDrive result = mapper.apply(new ArchivedDrive(3));
+
+        assertThat(result.getType()).isEqualTo(DriveType.ARCHIVED);
+        assertThat(result.getTimestamp()).isEqualTo(3);
+    }
+
+    @Test (description = "Verifies that null and empty results are memoized and returned as null")
+    public void test_apply_memoizesNullResults() {
+        int[] mappings = {0};
+        MemoizingMapper<ArchivedDrive, Long, LiveDrive> mapper = MemoizingMapper.ofOptional(ArchivedDrive::getTimestamp, ad -> {
+            mappings[0]++;
+            return Optional.empty();
+        }, 10);
+
+        assertThat(mapper.apply(new ArchivedDrive(1))).isNull();
+        assertThat(mapper.apply(new ArchivedDrive(1))).isNull();
+        assertThat(mappings[0]).isEqualTo(1);
+    }
+
+    @Test (description = "Verifies that null elements are mapped without memoization")
+    public void test_apply_nullElement() {
+        MemoizingMapper<ArchivedDrive, Long, LiveDrive> mapper = MemoizingMapper.of(ArchivedDrive::getTimestamp, ad -> Translator.translate(ad).orElse(null), 10);
+
+        assertThat(mapper.apply(null)).isNull();
+        assertThat(mapper.size()).isEqualTo(0);
+    }
+
+    @Test (description = "Verifies that concurrent misses on the same identity map the element only once")
+    public void test_apply_concurrentMissesMapOnce() throws Exception {
+        AtomicInteger mappings = new AtomicInteger();
+        CountDownLatch mapping = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MemoizingMapper<ArchivedDrive, Long, LiveDrive> mapper = MemoizingMapper.ofOptional(ArchivedDrive::getTimestamp, ad -> {
+            mappings.incrementAndGet();
+            mapping.countDown();
+            try {
+                release.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Translator.translate(ad);
+        }, 10);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<LiveDrive>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> mapper.apply(new ArchivedDrive(1))));
+            }
+            // hold the first mapping open until every thread has had the chance to miss on the same identity
+            mapping.await();
+            Thread.sleep(100);
+            release.countDown();
+
+            LiveDrive first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<LiveDrive> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        assertThat(mappings.get()).isEqualTo(1);
+    }
+
+    @Test (description = "Verifies that an exception thrown by the mapping function is rethrown as is and nothing is memoized",
+            expectedExceptions = IllegalStateException.class, expectedExceptionsMessageRegExp = "Translation failed")
+    public void test_apply_mappingFunctionThrows() {
+        MemoizingMapper<ArchivedDrive, Long, LiveDrive> mapper = MemoizingMapper.of(ArchivedDrive::getTimestamp, ad -> {
+            throw new IllegalStateException("Translation failed");
+        }, 10);
+
+        try {
+            mapper.apply(new ArchivedDrive(1));
+        }
+        finally {
+            assertThat(mapper.size()).isEqualTo(0);
+        }
+    }
+
+    @Test (description = "Verifies that the number of memoized results never exceeds the maximum size")
+    public void test_apply_evictsBeyondMaximumSize() {
+        MemoizingMapper<ArchivedDrive, Long, LiveDrive> mapper = MemoizingMapper.of(ArchivedDrive::getTimestamp, ad -> Translator.translate(ad).orElse(null), 5);
+
+        for (int i = 0; i < 50; i++) {
+            mapper.apply(new ArchivedDrive(i));
+        }
+
+        assertThat(mapper.size()).isLessThanOrEqualTo(5);
+    }
+
+    @Test (description = "Verifies that a maximum size of zero is rejected with an IllegalArgumentException",
+            expectedExceptions = IllegalArgumentException.class)
+    public void test_of_maximumSizeZero() {
+        MemoizingMapper.of(ArchivedDrive::getTimestamp, ad -> Translator.translate(ad).orElse(null), 0);
+    }
+}
@@ -0,0 +1,83 @@
+package com.erwolff.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.testng.annotations.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class PageBoundariesTest {
+
+    private final Sort sort = new Sort(Pager.DEFAULT_SORT);
+
+    @Test (description = "Verifies that a range aligned to its own size is retrieved with a page of exactly that size")
+    public void test_coveringPageable_alignedRange() {
+        Pageable pageable = PageBoundaries.coveringPageable(12, 18, sort);
+
+        assertThat(pageable.getPageNumber()).isEqualTo(2);
+        assertThat(pageable.getPageSize()).isEqualTo(6);
+        assertThat(pageable.getSort().equals(sort)).isTrue();
+    }
+
+    @Test (description = "Verifies that an unaligned range is retrieved with the smallest page spanning it")
+    public void test_coveringPageable_unalignedRange() {
+        // [3, 7) isn't spanned by a page of size 4 ([0, 4), [4, 8)), nor 5 ([0, 5), [5, 10)), nor 6 ([0, 6)) - 7 is page 0
+        Pageable pageable = PageBoundaries.coveringPageable(3, 7, sort);
+
+        assertThat(pageable.getPageNumber()).isEqualTo(0);
+        assertThat(pageable.getPageSize()).isEqualTo(7);
+
+        // [10, 14) isn't spanned by a page of size 4 ([8, 12), [12, 16)), but is by page 2 of size 5 ([10, 15))
+        pageable = PageBoundaries.coveringPageable(10, 14, sort);
+
+        assertThat(pageable.getPageNumber()).isEqualTo(2);
+        assertThat(pageable.getPageSize()).isEqualTo(5);
+    }
+
+    @Test (description = "Verifies that a range beyond Integer.MAX_VALUE is retrieved without the page number or size overflowing")
+    public void test_coveringPageable_beyondIntRange() {
+        long start = 3L * Integer.MAX_VALUE;
+        Pageable pageable = PageBoundaries.coveringPageable(start, start + 6, sort);
+
+        long offset = (long) pageable.getPageNumber() * pageable.getPageSize();
+        assertThat(pageable.getPageNumber()).isGreaterThanOrEqualTo(0);
+        assertThat(offset).isLessThanOrEqualTo(start);
+        assertThat(offset + pageable.getPageSize()).isGreaterThanOrEqualTo(start + 6);
+    }
+
+    @Test (description = "Verifies that a range which no int page number and page size can span is rejected with an IllegalArgumentException",
+            expectedExceptions = IllegalArgumentException.class)
+    public void test_coveringPageable_unrepresentableRange() {
+        PageBoundaries.coveringPageable(0, Integer.MAX_VALUE + 1L, sort);
+    }
+
+    @Test (description = "Verifies that a snapshot's totals locate a page straddling the boundary across both collections")
+    public void test_snapshotPageables_straddlingPage() {
+        // DESC: live [0, 8) then archived [0, 8) - page 1 of size 6 is live [6, 8) followed by archived [0, 4)
+        PageSnapshot snapshot = new PageSnapshot(1000, 8, 8);
+        Pageable pageable = new PageRequest(1, 6, sort);
+
+        assertThat(PageBoundaries.initialPageable(snapshot, pageable)).isSameAs(pageable);
+        Pageable secondaryPageable = PageBoundaries.secondaryPageable(snapshot, pageable);
+        assertThat(secondaryPageable.getPageNumber()).isEqualTo(0);
+        assertThat(secondaryPageable.getPageSize()).isEqualTo(4);
+    }
+
+    @Test (description = "Verifies that a snapshot's totals locate a page within a single collection without querying the other")
+    public void test_snapshotPageables_singleCollectionPage() {
+        PageSnapshot snapshot = new PageSnapshot(1000, 8, 8);
+
+        // page 0 of size 6 is live [0, 6)
+        Pageable pageable = new PageRequest(0, 6, sort);
+        assertThat(PageBoundaries.initialPageable(snapshot, pageable)).isSameAs(pageable);
+        assertThat(PageBoundaries.secondaryPageable(snapshot, pageable)).isNull();
+
+        // page 2 of size 6 is archived [4, 8)
+        pageable = new PageRequest(2, 6, sort);
+        assertThat(PageBoundaries.initialPageable(snapshot, pageable)).isNull();
+        Pageable secondaryPageable = PageBoundaries.secondaryPageable(snapshot, pageable);
+        assertThat(secondaryPageable.getPageNumber()).isEqualTo(1);
+        assertThat(secondaryPageable.getPageSize()).isEqualTo(4);
+    }
+}
@@ -8,12 +8,22 @@ import com.google.common.collect.Iterators;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.*;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.fest.assertions.Assertions.assertThat;
 import static org.fest.assertions.Fail.fail;
@@ -23,10 +33,29 @@ import static org.mockito.Mockito.mock;
 public class PagerTest {
     private static final Logger log = LoggerFactory.getLogger(PagerTest.class.getSimpleName());
 
+    // the drives generated by the tests all started before this
+    private static final long SNAPSHOT_TIMESTAMP = 1000;
+
     private final Pager pager = new Pager();
+    private final Pager snapshotPager = new Pager(() -> SNAPSHOT_TIMESTAMP);
     private final Random random = new Random();
     private List<LiveDrive> liveDrives;
     private List<ArchivedDrive> archivedDrives;
+    // the sort direction the drives were generated in, which the queries must be requested with
+    private Sort.Direction driveDirection;
+    private Map<String, List<LiveDrive>> accountLiveDrives;
+    private Map<String, List<ArchivedDrive>> accountArchivedDrives;
+    private int liveBatchQueries;
+    private int archivedBatchQueries;
+    private int liveSnapshotQueries;
+    private int archivedSnapshotQueries;
+    // when each drive ended after a snapshot, by drive timestamp - drives not present were archived before every snapshot
+    private final Map<Long, Long> archivedAtTimestamps = new HashMap<>();
+
+    @BeforeMethod
+    public void resetArchivedAtTimestamps() {
+        archivedAtTimestamps.clear();
+    }
 
     /**
      * Verifies that a pageSize of zero is rejected with an IllegalArgumentException
@@ -397,11 +426,477 @@ public class PagerTest {
         assertThat(totalFoundDrives).isEqualTo(numLiveDrives + numArchivedDrives);
     }
 
+    @Test (description = "Verifies that every account's pages are returned with a DESC sort while performing at most two queries per collection per batch")
+    public void test_pageAndMergeAll_descSort_multipleAccounts() {
+        verifyPageAndMergeAll(Sort.Direction.DESC);
+    }
+
+    @Test (description = "Verifies that every account's pages are returned with an ASC sort while performing at most two queries per collection per batch")
+    public void test_pageAndMergeAll_ascSort_multipleAccounts() {
+        verifyPageAndMergeAll(Sort.Direction.ASC);
+    }
+
+    @Test (description = "Verifies that an empty batch performs no queries")
+    public void test_pageAndMergeAll_noRequests() {
+        liveBatchQueries = 0;
+        archivedBatchQueries = 0;
+
+        Map<String, Page<LiveDrive>> results = pager.pageAndMergeAll(liveBatchQuery,
+                ld -> ld,
+                archivedBatchQuery,
+                ad -> Translator.translate(ad).orElse(null),
+                new HashMap<>());
+
+        assertThat(results).isEmpty();
+        assertThat(liveBatchQueries).isEqualTo(0);
+        assertThat(archivedBatchQueries).isEqualTo(0);
+    }
+
+    @Test (description = "Verifies that supplying the snapshots returned with each batch prevents skips when a new live drive is inserted between batches with an ASC sort")
+    public void test_pageAndMergeAll_ascSort_snapshotsBetweenBatches() {
+        PageRequest pageRequest = new PageRequest(0, 5, Sort.Direction.ASC, "timestamp");
+        accountLiveDrives = new HashMap<>();
+        accountArchivedDrives = new HashMap<>();
+        Map<String, List<LiveDrive>> expected = new HashMap<>();
+        Map<String, Pageable> pageables = new LinkedHashMap<>();
+
+        // live drives are more recent than archived drives: archived [0..9], live [100..109]
+        List<LiveDrive> drives = new ArrayList<>();
+        for (int i = 100; i < 110; i++) {
+            drives.add(new LiveDrive(i));
+        }
+        accountLiveDrives.put("account-0", drives);
+        accountArchivedDrives.put("account-0", generateArchivedDrives(pageRequest, 10));
+        accountLiveDrives.put("account-1", generateLiveDrives(pageRequest, 4));
+        accountArchivedDrives.put("account-1", generateArchivedDrives(pageRequest, 3));
+        for (String account : accountLiveDrives.keySet()) {
+            liveDrives = accountLiveDrives.get(account);
+            archivedDrives = accountArchivedDrives.get(account);
+            expected.put(account, expectedDrives(Sort.Direction.ASC));
+            pageables.put(account, pageRequest);
+        }
+
+        Map<String, PageSnapshot> snapshots = new HashMap<>();
+        while (!pageables.isEmpty()) {
+            Map<String, SnapshotPage<LiveDrive>> results = snapshotPager.pageAndMergeAll(liveSnapshotBatchQuery,
+                    ld -> ld,
+                    archivedSnapshotBatchQuery,
+                    ad -> Translator.translate(ad).orElse(null),
+                    pageables,
+                    snapshots);
+            assertThat(results.keySet()).isEqualTo(pageables.keySet());
+
+            Map<String, Pageable> nextPageables = new LinkedHashMap<>();
+            for (Map.Entry<String, SnapshotPage<LiveDrive>> entry : results.entrySet()) {
+                SnapshotPage<LiveDrive> actual = entry.getValue();
+                verifyPage(actual, expected.get(entry.getKey()), pageables.get(entry.getKey()));
+                assertThat(actual.getSnapshot().getTimestamp()).isEqualTo(SNAPSHOT_TIMESTAMP);
+
+                if (actual.hasNext()) {
+                    nextPageables.put(entry.getKey(), actual.nextPageable());
+                    snapshots.put(entry.getKey(), actual.getSnapshot());
+                }
+            }
+            pageables = nextPageables;
+
+            // a new drive is started
+            List<LiveDrive> account0LiveDrives = new ArrayList<>(accountLiveDrives.get("account-0"));
+            account0LiveDrives.add(new LiveDrive(SNAPSHOT_TIMESTAMP + 1));
+            accountLiveDrives.put("account-0", account0LiveDrives);
+        }
+    }
+
+    @Test (description = "Verifies the correct elements are returned by a MergedPager with a DESC sort with a random amount of live and archived drives, and a random pageSize")
+    public void test_mergedPager_descSort_randomData() {
+        verifyMergedPager(Sort.Direction.DESC);
+    }
+
+    @Test (description = "Verifies the correct elements are returned by a MergedPager with an ASC sort with a random amount of live and archived drives, and a random pageSize")
+    public void test_mergedPager_ascSort_randomData() {
+        verifyMergedPager(Sort.Direction.ASC);
+    }
+
+    @Test (description = "Verifies that a MergedPager applies its default sort to unsorted page requests before querying")
+    public void test_mergedPager_unsorted_defaultDirection() {
+        PageRequest pageRequest = new PageRequest(0, 5, Sort.Direction.ASC, "timestamp");
+        liveDrives = generateLiveDrives(pageRequest, 3);
+        archivedDrives = generateArchivedDrives(pageRequest, 3);
+
+        MergedPager<LiveDrive, ArchivedDrive, LiveDrive> mergedPager = MergedPager.<LiveDrive, ArchivedDrive, LiveDrive>builder()
+                .liveQuery(liveQuery)
+                .liveMappingFunction(ld -> ld)
+                .archivedQuery(archivedQuery)
+                .archivedMappingFunction(ad -> Translator.translate(ad).orElse(null))
+                .defaultSort(new Sort.Order(Sort.Direction.ASC, "timestamp"))
+                .build();
+
+        Page<LiveDrive> results = mergedPager.page(new PageRequest(0, 5));
+
+        assertThat(results.getNumberOfElements()).isEqualTo(5);
+        assertThat(results.nextPageable().getSort().getOrderFor("timestamp").getDirection()).isEqualTo(Sort.Direction.ASC);
+        verifyAllArchived(results.getContent().subList(0, 3));
+        verifyAllLive(results.getContent().subList(3, 5));
+    }
+
+    @Test (description = "Verifies that building a MergedPager without a query is rejected with an IllegalArgumentException",
+            expectedExceptions = IllegalArgumentException.class)
+    public void test_mergedPager_missingQuery() {
+        MergedPager.<LiveDrive, ArchivedDrive, LiveDrive>builder()
+                .liveQuery(liveQuery)
+                .liveMappingFunction(ld -> ld)
+                .archivedMappingFunction(ad -> Translator.translate(ad).orElse(null))
+                .build();
+    }
+
+    @Test (description = "Verifies that paging a MergedPager without a snapshot neither takes a snapshot nor queries as of one")
+    public void test_mergedPager_withoutSnapshot() {
+        PageRequest pageRequest = new PageRequest(0, 5, Sort.Direction.DESC, "timestamp");
+        liveDrives = generateLiveDrives(pageRequest, 3);
+        archivedDrives = generateArchivedDrives(pageRequest, 3);
+        liveSnapshotQueries = 0;
+        archivedSnapshotQueries = 0;
+
+        MergedPager<LiveDrive, ArchivedDrive, LiveDrive> mergedPager = MergedPager.<LiveDrive, ArchivedDrive, LiveDrive>builder()
+                .liveQuery(liveQuery)
+                .liveSnapshotQuery(liveSnapshotQuery)
+                .liveMappingFunction(ld -> ld)
+                .archivedQuery(archivedQuery)
+                .archivedSnapshotQuery(archivedSnapshotQuery)
+                .archivedMappingFunction(ad -> Translator.translate(ad).orElse(null))
+                .clock(() -> {
+                    throw new IllegalStateException("Expected no snapshot to be taken");
+                })
+                .build();
+
+        Page<LiveDrive> results = mergedPager.page(pageRequest);
+
+        assertThat(results instanceof SnapshotPage).isFalse();
+        assertThat(results.getNumberOfElements()).isEqualTo(5);
+        assertThat(liveSnapshotQueries).isEqualTo(0);
+        assertThat(archivedSnapshotQueries).isEqualTo(0);
+    }
+
+    @Test (description = "Verifies that paging with a snapshot a MergedPager built without snapshot queries is rejected with an IllegalStateException",
+            expectedExceptions = IllegalStateException.class)
+    public void test_mergedPager_snapshotWithoutSnapshotQueries() {
+        MergedPager.<LiveDrive, ArchivedDrive, LiveDrive>builder()
+                .liveQuery(liveQuery)
+                .liveMappingFunction(ld -> ld)
+                .archivedQuery(archivedQuery)
+                .archivedMappingFunction(ad -> Translator.translate(ad).orElse(null))
+                .build()
+                .page(new PageRequest(0, 5), null);
+    }
+
+    /**
+     * Pages through a random amount of live and archived drives with a random pageSize,
+     * verifying that each page of a MergedPager is the expected slice of the merged drives
+     * @param direction - the sort direction
+     */
+    private void verifyMergedPager(Sort.Direction direction) {
+        int pageSize = random.nextInt(20) + 1;
+        PageRequest pageRequest = new PageRequest(0, pageSize, direction, "timestamp");
+        liveDrives = generateLiveDrives(pageRequest, random.nextInt(100));
+        archivedDrives = generateArchivedDrives(pageRequest, random.nextInt(100));
+
+        MergedPager<LiveDrive, ArchivedDrive, LiveDrive> mergedPager = MergedPager.<LiveDrive, ArchivedDrive, LiveDrive>builder()
+                .liveQuery(liveQuery)
+                .liveMappingFunction(ld -> ld)
+                .archivedQuery(archivedQuery)
+                .archivedMappingFunction(ad -> Translator.translate(ad).orElse(null))
+                .build();
+
+        List<LiveDrive> expected = expectedDrives(direction);
+        Pageable pageable = pageRequest;
+        int totalFoundDrives = 0;
+        Page<LiveDrive> results;
+        do {
+            results = mergedPager.page(pageable);
+            verifyPage(results, expected, pageable);
+            verifyOrder(results.getContent(), direction);
+            totalFoundDrives += results.getNumberOfElements();
+            pageable = results.nextPageable();
+        } while (results.hasNext());
+
+        assertThat(totalFoundDrives).isEqualTo(liveDrives.size() + archivedDrives.size());
+    }
+
+    @Test (description = "Verifies that archived drives are only mapped once across repeated pagination when using a MemoizingMapper, while live drives are always mapped")
+    public void test_pageAndMerge_memoizedArchivedMapping() {
+        PageRequest pageRequest = new PageRequest(0, 6, Sort.Direction.DESC, "timestamp");
+        liveDrives = generateLiveDrives(pageRequest, 8);
+        archivedDrives = generateArchivedDrives(pageRequest, 8);
+
+        int[] liveMappings = {0};
+        int[] archivedMappings = {0};
+        Function<LiveDrive, LiveDrive> liveMappingFunction = ld -> {
+            liveMappings[0]++;
+            return ld;
+        };
+        MemoizingMapper<ArchivedDrive, Long, LiveDrive> archivedMappingFunction = MemoizingMapper.ofOptional(ArchivedDrive::getTimestamp, ad -> {
+            archivedMappings[0]++;
+            return Translator.translate(ad);
+        }, 100);
+
+        for (int pass = 0; pass < 2; pass++) {
+            Pageable pageable = pageRequest;
+            Page<LiveDrive> results;
+            do {
+                results = pager.pageAndMerge(liveQuery, liveMappingFunction, archivedQuery, archivedMappingFunction, pageable);
+                pageable = results.nextPageable();
+            } while (results.hasNext());
+        }
+
+        assertThat(liveMappings[0]).isEqualTo(16);
+        assertThat(archivedMappings[0]).isEqualTo(8);
+        assertThat(archivedMappingFunction.size()).isEqualTo(8);
+    }
+
+    @Test (description = "Verifies that supplying the snapshot returned with each page prevents duplicates while drives migrate from live to archived and new drives are inserted with a DESC sort")
+    public void test_pageAndMerge_descSort_snapshotDuringMigration() {
+        // live drives are more recent than archived drives: live [107..100], archived [7..0]
+        PageRequest pageRequest = new PageRequest(0, 6, Sort.Direction.DESC, "timestamp");
+        liveDrives = new ArrayList<>();
+        archivedDrives = generateArchivedDrives(pageRequest, 8);
+        for (int i = 107; i >= 100; i--) {
+            liveDrives.add(new LiveDrive(i));
+        }
+
+        SnapshotPage<LiveDrive> results = snapshotPager.pageAndMerge(liveSnapshotQuery,
+                ld -> ld,
+                archivedSnapshotQuery,
+                ad -> Translator.translate(ad).orElse(null),
+                pageRequest,
+                null);
+        assertThat(results.getSnapshot()).isEqualTo(new PageSnapshot(SNAPSHOT_TIMESTAMP, 8, 8));
+        Set<Long> timestamps = collectTimestamps(results);
+
+        // drives 101 and 100 end and move to the archived collection, and a new drive is started
+        endDrive(101);
+        endDrive(100);
+        liveDrives.add(0, new LiveDrive(SNAPSHOT_TIMESTAMP + 1));
+
+        results = snapshotPager.pageAndMerge(liveSnapshotQuery,
+                ld -> ld,
+                archivedSnapshotQuery,
+                ad -> Translator.translate(ad).orElse(null),
+                results.nextPageable(),
+                results.getSnapshot());
+        assertThat(timestamps(results)).isEqualTo(Arrays.asList(101L, 100L, 7L, 6L, 5L, 4L));
+        assertThat(results.getTotalElements()).isEqualTo(16);
+        timestamps.addAll(collectTimestamps(results));
+
+        results = snapshotPager.pageAndMerge(liveSnapshotQuery,
+                ld -> ld,
+                archivedSnapshotQuery,
+                ad -> Translator.translate(ad).orElse(null),
+                results.nextPageable(),
+                results.getSnapshot());
+        assertThat(results.getNumberOfElements()).isEqualTo(4);
+        assertThat(results.hasNext()).isFalse();
+        verifyAllArchived(results.getContent());
+        timestamps.addAll(collectTimestamps(results));
+
+        assertThat(timestamps).hasSize(16);
+        assertThat(timestamps).excludes(SNAPSHOT_TIMESTAMP + 1);
+    }
+
+    @Test (description = "Verifies that supplying the snapshot returned with each page prevents duplicates and skips while drives from the middle of the live collection migrate to archived with a DESC sort")
+    public void test_pageAndMerge_descSort_snapshotDuringMidListMigration() {
+        // live drives are more recent than archived drives: live [107..100], archived [7..0]
+        PageRequest pageRequest = new PageRequest(0, 6, Sort.Direction.DESC, "timestamp");
+        liveDrives = new ArrayList<>();
+        archivedDrives = generateArchivedDrives(pageRequest, 8);
+        for (int i = 107; i >= 100; i--) {
+            liveDrives.add(new LiveDrive(i));
+        }
+
+        SnapshotPage<LiveDrive> results = snapshotPager.pageAndMerge(liveSnapshotQuery,
+                ld -> ld,
+                archivedSnapshotQuery,
+                ad -> Translator.translate(ad).orElse(null),
+                pageRequest,
+                null);
+        assertThat(timestamps(results)).isEqualTo(Arrays.asList(107L, 106L, 105L, 104L, 103L, 102L));
+
+        // drive 105, which has already been returned, and drive 101, which hasn't, end and move to the archived collection
+        endDrive(105);
+        endDrive(101);
+
+        // the page straddles the boundary, so each collection is queried exactly once
+        liveSnapshotQueries = 0;
+        archivedSnapshotQueries = 0;
+        results = snapshotPager.pageAndMerge(liveSnapshotQuery,
+                ld -> ld,
+                archivedSnapshotQuery,
+                ad -> Translator.translate(ad).orElse(null),
+                results.nextPageable(),
+                results.getSnapshot());
+        assertThat(timestamps(results)).isEqualTo(Arrays.asList(101L, 100L, 7L, 6L, 5L, 4L));
+        assertThat(liveSnapshotQueries).isEqualTo(1);
+        assertThat(archivedSnapshotQueries).isEqualTo(1);
+
+        // the page lies entirely within the archived collection, so the live collection isn't queried
+        liveSnapshotQueries = 0;
+        archivedSnapshotQueries = 0;
+        results = snapshotPager.pageAndMerge(liveSnapshotQuery,
+                ld -> ld,
+                archivedSnapshotQuery,
+                ad -> Translator.translate(ad).orElse(null),
+                results.nextPageable(),
+                results.getSnapshot());
+        assertThat(timestamps(results)).isEqualTo(Arrays.asList(3L, 2L, 1L, 0L));
+        assertThat(results.hasNext()).isFalse();
+        assertThat(results.getTotalElements()).isEqualTo(results.getSnapshot().getTotalElements());
+        assertThat(liveSnapshotQueries).isEqualTo(0);
+        assertThat(archivedSnapshotQueries).isEqualTo(1);
+    }
+
+    @Test (description = "Verifies that supplying the snapshot returned with each page prevents skips when a new live drive is inserted between pages with an ASC sort")
+    public void test_pageAndMerge_ascSort_newLiveDriveBetweenPages() {
+        // live drives are more recent than archived drives: archived [0..9], live [100..109]
+        PageRequest pageRequest = new PageRequest(0, 5, Sort.Direction.ASC, "timestamp");
+        liveDrives = new ArrayList<>();
+        archivedDrives = generateArchivedDrives(pageRequest, 10);
+        for (int i = 100; i < 110; i++) {
+            liveDrives.add(new LiveDrive(i));
+        }
+
+        SnapshotPage<LiveDrive> results = snapshotPager.pageAndMerge(liveSnapshotQuery,
+                ld -> ld,
+                archivedSnapshotQuery,
+                ad -> Translator.translate(ad).orElse(null),
+                pageRequest,
+                null);
+        List<Long> timestamps = new ArrayList<>(collectTimestamps(results));
+
+        // a new drive is started
+        liveDrives = new ArrayList<>(liveDrives);
+        liveDrives.add(new LiveDrive(SNAPSHOT_TIMESTAMP + 1));
+
+        while (results.hasNext()) {
+            results = snapshotPager.pageAndMerge(liveSnapshotQuery,
+                    ld -> ld,
+                    archivedSnapshotQuery,
+                    ad -> Translator.translate(ad).orElse(null),
+                    results.nextPageable(),
+                    results.getSnapshot());
+            assertThat(results.getNumberOfElements()).isEqualTo(5);
+            assertThat(results.getTotalElements()).isEqualTo(20);
+            verifyOrder(results.getContent(), Sort.Direction.ASC);
+            timestamps.addAll(collectTimestamps(results));
+        }
+
+        List<Long> expected = new ArrayList<>();
+        for (long i = 0; i < 10; i++) {
+            expected.add(i);
+        }
+        for (long i = 100; i < 110; i++) {
+            expected.add(i);
+        }
+        assertThat(new HashSet<>(timestamps)).isEqualTo(new HashSet<>(expected));
+        assertThat(timestamps).hasSize(20);
+    }
+
+    @Test (description = "Verifies that supplying the snapshot returned with each page to a MergedPager prevents skips while drives from anywhere in the live collection migrate to archived and new drives are inserted with an ASC sort")
+    public void test_mergedPager_ascSort_snapshotDuringMigration() {
+        // live drives are more recent than archived drives: archived [0..7], live [100..107]
+        PageRequest pageRequest = new PageRequest(0, 6, Sort.Direction.ASC, "timestamp");
+        liveDrives = new ArrayList<>();
+        archivedDrives = generateArchivedDrives(pageRequest, 8);
+        for (int i = 100; i < 108; i++) {
+            liveDrives.add(new LiveDrive(i));
+        }
+
+        MergedPager<LiveDrive, ArchivedDrive, LiveDrive> mergedPager = MergedPager.<LiveDrive, ArchivedDrive, LiveDrive>builder()
+                .liveQuery(liveQuery)
+                .liveSnapshotQuery(liveSnapshotQuery)
+                .liveMappingFunction(ld -> ld)
+                .archivedQuery(archivedQuery)
+                .archivedSnapshotQuery(archivedSnapshotQuery)
+                .archivedMappingFunction(ad -> Translator.translate(ad).orElse(null))
+                .clock(() -> SNAPSHOT_TIMESTAMP)
+                .build();
+
+        SnapshotPage<LiveDrive> results = mergedPager.page(pageRequest, null);
+        assertThat(results.getSnapshot()).isEqualTo(new PageSnapshot(SNAPSHOT_TIMESTAMP, 8, 8));
+        Set<Long> timestamps = collectTimestamps(results);
+
+        // drive 100, at the boundary, and drive 104, in the middle of the live collection, end and move to the archived collection, and a new drive is started
+        endDrive(100);
+        endDrive(104);
+        liveDrives.add(new LiveDrive(SNAPSHOT_TIMESTAMP + 1));
+
+        results = mergedPager.page(results.nextPageable(), results.getSnapshot());
+        assertThat(timestamps(results)).isEqualTo(Arrays.asList(6L, 7L, 100L, 101L, 102L, 103L));
+        timestamps.addAll(collectTimestamps(results));
+
+        results = mergedPager.page(results.nextPageable(), results.getSnapshot());
+        assertThat(timestamps(results)).isEqualTo(Arrays.asList(104L, 105L, 106L, 107L));
+        assertThat(results.hasNext()).isFalse();
+        timestamps.addAll(collectTimestamps(results));
+
+        assertThat(timestamps).hasSize(16);
+        assertThat(timestamps).excludes(SNAPSHOT_TIMESTAMP + 1);
+    }
+
+    /**
+     * Pages through several accounts with differing amounts of live and archived drives in a single batch,
+     * verifying that each account's results are the expected slice of that account's merged drives
+     * @param direction - the sort direction
+     */
+    private void verifyPageAndMergeAll(Sort.Direction direction) {
+        int pageSize = 6;
+        PageRequest pageRequest = new PageRequest(0, pageSize, direction, "timestamp");
+        int[][] driveCounts = {{8, 8}, {20, 20}, {0, 3}, {3, 0}, {0, 0}, {random.nextInt(100), random.nextInt(100)}};
+
+        accountLiveDrives = new HashMap<>();
+        accountArchivedDrives = new HashMap<>();
+        Map<String, Pageable> pageables = new LinkedHashMap<>();
+        for (int i = 0; i < driveCounts.length; i++) {
+            String account = "account-" + i;
+            accountLiveDrives.put(account, generateLiveDrives(pageRequest, driveCounts[i][0]));
+            accountArchivedDrives.put(account, generateArchivedDrives(pageRequest, driveCounts[i][1]));
+            pageables.put(account, pageRequest);
+        }
+
+        while (!pageables.isEmpty()) {
+            liveBatchQueries = 0;
+            archivedBatchQueries = 0;
+
+            Map<String, Page<LiveDrive>> results = pager.pageAndMergeAll(liveBatchQuery,
+                    ld -> ld,
+                    archivedBatchQuery,
+                    ad -> Translator.translate(ad).orElse(null),
+                    pageables);
+
+            assertThat(liveBatchQueries).isLessThanOrEqualTo(2);
+            assertThat(archivedBatchQueries).isLessThanOrEqualTo(2);
+            assertThat(results.keySet()).isEqualTo(pageables.keySet());
+
+            Map<String, Pageable> nextPageables = new LinkedHashMap<>();
+            for (Map.Entry<String, Page<LiveDrive>> entry : results.entrySet()) {
+                liveDrives = accountLiveDrives.get(entry.getKey());
+                archivedDrives = accountArchivedDrives.get(entry.getKey());
+
+                Page<LiveDrive> actual = entry.getValue();
+                verifyPage(actual, expectedDrives(direction), pageables.get(entry.getKey()));
+                verifyOrder(actual.getContent(), direction);
+
+                if (actual.hasNext()) {
+                    nextPageables.put(entry.getKey(), actual.nextPageable());
+                }
+            }
+            pageables = nextPageables;
+        }
+    }
+
     private final Function<Pageable, Page<LiveDrive>> liveQuery = new Function<Pageable, Page<LiveDrive>>() {
         @Override
         public Page<LiveDrive> apply(Pageable pageable) {
             int startingElement = pageable.getPageNumber() == 0 ? 0 : (pageable.getPageNumber() * pageable.getPageSize());
             int endingElement = startingElement + (pageable.getPageSize() - 1);
+            verifySort(pageable);
             log.debug("LIVE: startingElement: {}  endingElement: {}  liveDrives.size(): {}", startingElement, endingElement, liveDrives.size());
             if (liveDrives.size() >= (endingElement + 1)) {
                 return new PageImpl<>(liveDrives.subList(startingElement, (endingElement + 1)), pageable, liveDrives.size());
@@ -418,6 +913,7 @@ public class PagerTest {
         public Page<ArchivedDrive> apply(Pageable pageable) {
             int startingElement = pageable.getPageNumber() == 0 ? 0 : (pageable.getPageNumber() * pageable.getPageSize());
             int endingElement = startingElement + (pageable.getPageSize() - 1);
+            verifySort(pageable);
             log.debug("ARCHIVED: startingElement: {}  endingElement: {}  archivedDrives.size(): {}", startingElement, endingElement, archivedDrives.size());
             if (archivedDrives.size() >= (endingElement + 1)) {
                 return new PageImpl<>(archivedDrives.subList(startingElement, (endingElement + 1)), pageable, archivedDrives.size());
@@ -429,10 +925,104 @@ public class PagerTest {
         }
     };
 
+    private final SnapshotQuery<LiveDrive> liveSnapshotQuery = new SnapshotQuery<LiveDrive>() {
+        @Override
+        public Page<LiveDrive> apply(Pageable pageable, long timestamp) {
+            liveSnapshotQueries++;
+            // query the drives which had started as of the snapshot and were still live at it, including those which have since ended
+            List<LiveDrive> drives = liveDrives;
+            liveDrives = drives.stream().filter(ld -> ld.getTimestamp() <= timestamp).collect(Collectors.toList());
+            archivedDrives.stream()
+                    .filter(ad -> ad.getTimestamp() <= timestamp && archivedAt(ad) > timestamp)
+                    .forEach(ad -> liveDrives.add(Translator.translate(ad).orElse(null)));
+            liveDrives.sort(driveOrder(LiveDrive::getTimestamp));
+            try {
+                return liveQuery.apply(pageable);
+            }
+            finally {
+                liveDrives = drives;
+            }
+        }
+    };
+
+    private final SnapshotQuery<ArchivedDrive> archivedSnapshotQuery = new SnapshotQuery<ArchivedDrive>() {
+        @Override
+        public Page<ArchivedDrive> apply(Pageable pageable, long timestamp) {
+            archivedSnapshotQueries++;
+            // query only the drives which had been archived as of the snapshot
+            List<ArchivedDrive> drives = archivedDrives;
+            archivedDrives = drives.stream().filter(ad -> ad.getTimestamp() <= timestamp && archivedAt(ad) <= timestamp).collect(Collectors.toList());
+            try {
+                return archivedQuery.apply(pageable);
+            }
+            finally {
+                archivedDrives = drives;
+            }
+        }
+    };
+
+    private final Function<Map<String, Pageable>, Map<String, Page<LiveDrive>>> liveBatchQuery = new Function<Map<String, Pageable>, Map<String, Page<LiveDrive>>>() {
+        @Override
+        public Map<String, Page<LiveDrive>> apply(Map<String, Pageable> pageables) {
+            liveBatchQueries++;
+            Map<String, Page<LiveDrive>> results = new HashMap<>();
+            for (Map.Entry<String, Pageable> entry : pageables.entrySet()) {
+                liveDrives = accountLiveDrives.get(entry.getKey());
+                results.put(entry.getKey(), liveQuery.apply(entry.getValue()));
+            }
+            return results;
+        }
+    };
+
+    private final Function<Map<String, Pageable>, Map<String, Page<ArchivedDrive>>> archivedBatchQuery = new Function<Map<String, Pageable>, Map<String, Page<ArchivedDrive>>>() {
+        @Override
+        public Map<String, Page<ArchivedDrive>> apply(Map<String, Pageable> pageables) {
+            archivedBatchQueries++;
+            Map<String, Page<ArchivedDrive>> results = new HashMap<>();
+            for (Map.Entry<String, Pageable> entry : pageables.entrySet()) {
+                archivedDrives = accountArchivedDrives.get(entry.getKey());
+                // omit accounts without archived drives, as a grouped query would
+                if (!archivedDrives.isEmpty()) {
+                    results.put(entry.getKey(), archivedQuery.apply(entry.getValue()));
+                }
+            }
+            return results;
+        }
+    };
+
+    private final BiFunction<Map<String, Pageable>, Map<String, Long>, Map<String, Page<LiveDrive>>> liveSnapshotBatchQuery = new BiFunction<Map<String, Pageable>, Map<String, Long>, Map<String, Page<LiveDrive>>>() {
+        @Override
+        public Map<String, Page<LiveDrive>> apply(Map<String, Pageable> pageables, Map<String, Long> timestamps) {
+            liveBatchQueries++;
+            Map<String, Page<LiveDrive>> results = new HashMap<>();
+            for (Map.Entry<String, Pageable> entry : pageables.entrySet()) {
+                liveDrives = accountLiveDrives.get(entry.getKey());
+                archivedDrives = accountArchivedDrives.get(entry.getKey());
+                results.put(entry.getKey(), liveSnapshotQuery.apply(entry.getValue(), timestamps.get(entry.getKey())));
+            }
+            return results;
+        }
+    };
+
+    private final BiFunction<Map<String, Pageable>, Map<String, Long>, Map<String, Page<ArchivedDrive>>> archivedSnapshotBatchQuery = new BiFunction<Map<String, Pageable>, Map<String, Long>, Map<String, Page<ArchivedDrive>>>() {
+        @Override
+        public Map<String, Page<ArchivedDrive>> apply(Map<String, Pageable> pageables, Map<String, Long> timestamps) {
+            archivedBatchQueries++;
+            Map<String, Page<ArchivedDrive>> results = new HashMap<>();
+            for (Map.Entry<String, Pageable> entry : pageables.entrySet()) {
+                liveDrives = accountLiveDrives.get(entry.getKey());
+                archivedDrives = accountArchivedDrives.get(entry.getKey());
+                results.put(entry.getKey(), archivedSnapshotQuery.apply(entry.getValue(), timestamps.get(entry.getKey())));
+            }
+            return results;
+        }
+    };
+
     private List<LiveDrive> generateLiveDrives(Pageable p, int numDrives) {
         log.debug("Generating {} LIVE drives", numDrives);
         List<LiveDrive> drives = new ArrayList<>(numDrives);
         Sort.Order sort = Iterators.get(p.getSort().iterator(), 0, Pager.DEFAULT_SORT);
+        driveDirection = sort.getDirection();
         if (Sort.Direction.ASC == sort.getDirection()) {
             for (int i = 0; i < numDrives; i++) {
                 drives.add(new LiveDrive(i));
@@ -450,6 +1040,7 @@ public class PagerTest {
         log.debug("Generating {} ARCHIVED drives", numDrives);
         List<ArchivedDrive> drives = new ArrayList<>(numDrives);
         Sort.Order sort = Iterators.get(p.getSort().iterator(), 0, Pager.DEFAULT_SORT);
+        driveDirection = sort.getDirection();
         if (Sort.Direction.ASC == sort.getDirection()) {
             for (int i = 0; i < numDrives; i++) {
                 drives.add(new ArchivedDrive(i));
@@ -491,6 +1082,101 @@ public class PagerTest {
         }
     }
 
+    /**
+     * Ends the live drive with the supplied timestamp after the snapshot was taken, moving it to the archived collection
+     * @param timestamp - the timestamp of the live drive
+     */
+    private void endDrive(long timestamp) {
+        liveDrives = liveDrives.stream().filter(ld -> ld.getTimestamp() != timestamp).collect(Collectors.toList());
+        archivedDrives = new ArrayList<>(archivedDrives);
+        archivedDrives.add(new ArchivedDrive(timestamp));
+        archivedDrives.sort(driveOrder(ArchivedDrive::getTimestamp));
+        archivedAtTimestamps.put(timestamp, SNAPSHOT_TIMESTAMP + 1);
+    }
+
+    private long archivedAt(ArchivedDrive drive) {
+        return archivedAtTimestamps.getOrDefault(drive.getTimestamp(), Long.MIN_VALUE);
+    }
+
+    /**
+     * @return the order the drives were generated in
+     */
+    private <T> Comparator<T> driveOrder(Function<T, Long> timestamp) {
+        Comparator<T> order = Comparator.comparing(timestamp);
+        return Sort.Direction.ASC == driveDirection ? order : order.reversed();
+    }
+
+    private List<Long> timestamps(Page<LiveDrive> results) {
+        return results.getContent().stream().map(LiveDrive::getTimestamp).collect(Collectors.toList());
+    }
+
+    private Set<Long> collectTimestamps(Page<LiveDrive> results) {
+        Set<Long> timestamps = new HashSet<>();
+        for (LiveDrive drive : results.getContent()) {
+            timestamps.add(drive.getTimestamp());
+        }
+        return timestamps;
+    }
+
+    /**
+     * Builds the full merged results expected for the current live and archived drives, i.e. the initial collection's drives
+     * followed by the secondary collection's drives, with archived drives translated
+     * @param direction - the sort direction the drives were generated in
+     * @return the expected merged drives
+     */
+    private List<LiveDrive> expectedDrives(Sort.Direction direction) {
+        List<LiveDrive> translated = new ArrayList<>(archivedDrives.size());
+        for (ArchivedDrive drive : archivedDrives) {
+            translated.add(Translator.translate(drive).orElse(null));
+        }
+
+        List<LiveDrive> expected = new ArrayList<>(liveDrives.size() + archivedDrives.size());
+        if (Sort.Direction.ASC == direction) {
+            expected.addAll(translated);
+            expected.addAll(liveDrives);
+        }
+        else {
+            expected.addAll(liveDrives);
+            expected.addAll(translated);
+        }
+        return expected;
+    }
+
+    /**
+     * Verifies that the supplied page contains exactly the expected drives for the page request
+     * @param actual
+     * @param expected - the full merged results expected
+     * @param pageable
+     */
+    private void verifyPage(Page<LiveDrive> actual, List<LiveDrive> expected, Pageable pageable) {
+        int from = Math.min(pageable.getPageNumber() * pageable.getPageSize(), expected.size());
+        int to = Math.min(from + pageable.getPageSize(), expected.size());
+        List<LiveDrive> expectedContent = expected.subList(from, to);
+
+        assertThat(actual.getTotalElements()).isEqualTo(expected.size());
+        assertThat(actual.getNumberOfElements()).isEqualTo(expectedContent.size());
+        assertThat(actual.hasNext()).isEqualTo(to < expected.size());
+        for (int i = 0; i < expectedContent.size(); i++) {
+            assertThat(actual.getContent().get(i).getType()).isEqualTo(expectedContent.get(i).getType());
+            assertThat(actual.getContent().get(i).getTimestamp()).isEqualTo(expectedContent.get(i).getTimestamp());
+        }
+    }
+
+    /**
+     * Verifies that a query was requested with the sort field and direction the drives were generated in
+     * @param pageable
+     */
+    private void verifySort(Pageable pageable) {
+        if (pageable.getSort() == null) {
+            fail("Expected the query to be sorted");
+        }
+        Sort.Order order = pageable.getSort().getOrderFor(Pager.DEFAULT_SORT_FIELD);
+        if (order == null) {
+            fail("Expected the query to be sorted by " + Pager.DEFAULT_SORT_FIELD);
+        }
+        assertThat(order.getDirection()).isEqualTo(driveDirection);
+    }
+
     private void verifyOrder(List<LiveDrive> drives, Sort.Direction sortDirection) {
         if (drives == null) {
             fail("Expected drives not to be null");